@@ -7,6 +7,7 @@ plugins {
     id("com.diffplug.spotless") version "7.0.2"
     id("org.jlleitschuh.gradle.ktlint") version "14.0.1"
     id("jacoco")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.forexconverter"
@@ -33,10 +34,13 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-restclient")
     implementation("io.micrometer:micrometer-registry-influx")
+    implementation("org.apache.httpcomponents.client5:httpclient5")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.boot:spring-boot-starter-webmvc-test")
     testImplementation("com.squareup.okhttp3:mockwebserver:4.12.0")
+    testImplementation("net.jqwik:jqwik:1.9.2")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    jmhImplementation("org.springframework:spring-test")
 }
 
 spotless {
@@ -45,6 +49,27 @@ spotless {
     }
 }
 
+jmh {
+    fork = 1
+    warmupIterations = 3
+    warmup = "1s"
+    iterations = 5
+    timeOnIteration = "1s"
+    benchmarkMode = listOf("thrpt")
+    timeUnit = "us"
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
+tasks.register<Copy>("jmhBaseline") {
+    description = "Records the latest JMH results as the baseline to compare against."
+    mustRunAfter("jmh")
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("jmh"))
+    rename { "baseline.json" }
+}
+
 jacoco {
     toolVersion = "0.8.11"
 }
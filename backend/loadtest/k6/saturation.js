@@ -0,0 +1,57 @@
+// Ramps the request rate past what 200 platform threads can serve with a 500ms upstream
+// (~400 req/s) and reports latency and failures of the backend under test.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://backend-platform:8080';
+const PEAK_RATE = Number(__ENV.PEAK_RATE || 1200);
+
+// 40 currencies give 1560 pairs, enough to keep concurrent misses from being coalesced away.
+const CURRENCIES = [
+  'USD', 'EUR', 'GBP', 'JPY', 'CHF', 'CAD', 'AUD', 'NZD', 'SEK', 'NOK',
+  'DKK', 'PLN', 'CZK', 'HUF', 'RON', 'BGN', 'TRY', 'ILS', 'ZAR', 'MXN',
+  'BRL', 'ARS', 'CLP', 'COP', 'PEN', 'CNY', 'HKD', 'SGD', 'KRW', 'INR',
+  'IDR', 'MYR', 'PHP', 'THB', 'VND', 'AED', 'SAR', 'QAR', 'KWD', 'EGP',
+];
+
+export const options = {
+  scenarios: {
+    saturation: {
+      executor: 'ramping-arrival-rate',
+      startRate: 50,
+      timeUnit: '1s',
+      preAllocatedVUs: 500,
+      maxVUs: 3000,
+      stages: [
+        { duration: '30s', target: PEAK_RATE / 4 },
+        { duration: '30s', target: PEAK_RATE / 2 },
+        { duration: '60s', target: PEAK_RATE },
+        { duration: '30s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(99)<2000'],
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(99)', 'max'],
+};
+
+function randomCurrency() {
+  return CURRENCIES[Math.floor(Math.random() * CURRENCIES.length)];
+}
+
+export default function () {
+  const from = randomCurrency();
+  let to = randomCurrency();
+  while (to === from) {
+    to = randomCurrency();
+  }
+
+  const response = http.get(`${BASE_URL}/convert/${from}-${to}?amount=100`, {
+    tags: { name: 'convert' },
+    timeout: '10s',
+  });
+
+  check(response, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,132 @@
+package com.forexconverter.conversion;
+
+import com.forexconverter.rate.CacheProperties;
+import com.forexconverter.rate.RateVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.util.Currency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import tools.jackson.databind.ObjectMapper;
+
+/** Cost of the conversion arithmetic and of producing the {@code /convert} response. */
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+  private final BigDecimal rate = new BigDecimal("0.926524");
+  private final BigDecimal amount = new BigDecimal("1234.56");
+  private final SuccessResponseDTO response = new SuccessResponseDTO(new BigDecimal("1143.8396"));
+
+  private final ResponseDTOHttpMessageConverter converter = new ResponseDTOHttpMessageConverter();
+  private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+  private final HttpOutputMessage message =
+      new HttpOutputMessage() {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+          return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+          return headers;
+        }
+      };
+
+  private ObjectMapper objectMapper;
+  private ConversionService service;
+  private ConversionService fixedPointService;
+  private ConversionController controller;
+
+  @Setup
+  public void setUp() {
+    objectMapper = new ObjectMapper();
+    service =
+        new ConversionService(
+            (from, to) -> rate, new ConversionProperties(), new SimpleMeterRegistry());
+    ConversionProperties fixedPoint = new ConversionProperties();
+    fixedPoint.setArithmetic(ConversionProperties.Arithmetic.FIXED_POINT);
+    fixedPointService =
+        new ConversionService((from, to) -> rate, fixedPoint, new SimpleMeterRegistry());
+    controller =
+        new ConversionController(
+            service,
+            null,
+            null,
+            new RateVersion(new CacheProperties(), Clock.systemUTC()),
+            new ConversionExceptionHandler(new SimpleMeterRegistry()),
+            new SimpleMeterRegistry());
+  }
+
+  @Benchmark
+  public BigDecimal multiply() {
+    return rate.multiply(amount);
+  }
+
+  @Benchmark
+  public BigDecimal multiplyAndRound() {
+    return rate.multiply(amount).setScale(2, RoundingMode.HALF_EVEN);
+  }
+
+  @Benchmark
+  public BigDecimal multiplyAndStripZeros() {
+    return rate.multiply(amount).stripTrailingZeros();
+  }
+
+  @Benchmark
+  public ConversionResult serviceConvert() {
+    return service.convert(Currency.getInstance("USD"), Currency.getInstance("EUR"), amount);
+  }
+
+  @Benchmark
+  public ConversionResult serviceConvertFixedPoint() {
+    return fixedPointService.convert(
+        Currency.getInstance("USD"), Currency.getInstance("EUR"), amount);
+  }
+
+  @Benchmark
+  public ResponseDTO controllerConvert() {
+    return controller.convert(
+        "usd",
+        "eur",
+        amount,
+        null,
+        new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse()));
+  }
+
+  @Benchmark
+  public ResponseDTO controllerConvertInvalidPair() {
+    return controller.convert(
+        "usd",
+        "xyz",
+        amount,
+        null,
+        new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse()));
+  }
+
+  @Benchmark
+  public byte[] serializeSuccessResponse() {
+    return objectMapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public int writeSuccessResponse() throws IOException {
+    body.reset();
+    converter.write(response, MediaType.APPLICATION_JSON, message);
+    return body.size();
+  }
+}
@@ -0,0 +1,93 @@
+package com.forexconverter.rate;
+
+import com.forexconverter.swop.ClientProperties;
+import com.forexconverter.swop.RequestBudget;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/** Cost of a cache hit on the rate path, from the store up to {@link SwopProvider#getRate}. */
+@State(Scope.Benchmark)
+public class RateLookupBenchmark {
+
+  private final Currency from = Currency.getInstance("USD");
+  private final Currency to = Currency.getInstance("EUR");
+
+  private CaffeineRateStore caffeineStore;
+  private MatrixRateStore matrixStore;
+  private SwopProvider caffeineProvider;
+  private SwopProvider matrixProvider;
+
+  @Setup
+  public void setUp() {
+    CaffeineCache cache =
+        new CaffeineCache(
+            CacheConfig.EXCHANGE_RATES_CACHE,
+            Caffeine.newBuilder()
+                .expireAfterWrite(24, TimeUnit.HOURS)
+                .maximumSize(35000)
+                .recordStats()
+                .build());
+    caffeineStore = new CaffeineRateStore(cache);
+    matrixStore = new MatrixRateStore();
+
+    Clock clock = Clock.systemUTC();
+    List<Quote> quotes =
+        List.of(
+            new Quote(
+                CurrencyPair.of(from, to),
+                new BigDecimal("0.926524"),
+                LocalDate.now(clock),
+                clock.millis()));
+    caffeineStore.putAll(quotes);
+    matrixStore.putAll(quotes);
+
+    caffeineProvider = provider(caffeineStore, clock);
+    matrixProvider = provider(matrixStore, clock);
+  }
+
+  private static SwopProvider provider(RateStore store, Clock clock) {
+    return new SwopProvider(
+        null,
+        new RequestBudget(new ClientProperties(), clock, new SimpleMeterRegistry()),
+        new CircuitBreaker(
+            "swop", new CircuitBreakerProperties(), clock, e -> true, new SimpleMeterRegistry()),
+        store,
+        new CrossRateCalculator(new TriangulationProperties()),
+        new CacheProperties(),
+        Runnable::run,
+        clock,
+        new SimpleMeterRegistry(),
+        event -> {});
+  }
+
+  @Benchmark
+  public Quote caffeineStoreHit() {
+    return caffeineStore.get(from, to);
+  }
+
+  @Benchmark
+  public Quote matrixStoreHit() {
+    return matrixStore.get(from, to);
+  }
+
+  @Benchmark
+  public BigDecimal providerHitWithCaffeine() {
+    return caffeineProvider.getRate(from, to);
+  }
+
+  @Benchmark
+  public BigDecimal providerHitWithMatrix() {
+    return matrixProvider.getRate(from, to);
+  }
+}
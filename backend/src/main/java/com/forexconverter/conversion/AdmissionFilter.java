@@ -0,0 +1,156 @@
+package com.forexconverter.conversion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admission control for conversions, shedding requests beyond an adaptive {@link ConcurrencyLimit}
+ * before they reach {@link ConversionController}.
+ *
+ * <p>A shed request is answered with 429 and {@code Retry-After} without parsing it. With {@code
+ * per-key} enabled, a single client, identified by a header, may only hold a share of the limit, so
+ * that it cannot crowd out the others. Rate streams are long-lived and have their own limit, so
+ * they are not admitted here. Batches are admitted, but their latency grows with their size, so it
+ * does not adapt the limit.
+ */
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+  private static final String PATH = "/convert/";
+  private static final String STREAM_PATH = "/convert/stream";
+  private static final String BATCH_PATH = "/convert/batch";
+  private static final byte[] REJECTED =
+      "{\"error\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+
+  private final boolean enabled;
+  private final ConcurrencyLimit limit;
+  private final String retryAfter;
+  private final boolean perKey;
+  private final String keyHeader;
+  private final double keyShare;
+  private final ConcurrentMap<String, Integer> keyInFlight = new ConcurrentHashMap<>();
+  private final Counter limitRejections;
+  private final Counter keyRejections;
+
+  public AdmissionFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+    this.enabled = properties.enabled();
+    this.limit = new ConcurrencyLimit(properties);
+    long retryAfterMillis = properties.retryAfter().toMillis();
+    this.retryAfter = Long.toString(Math.max(1, (retryAfterMillis + 999) / 1000));
+    this.perKey = properties.perKey().enabled();
+    this.keyHeader = properties.perKey().header();
+    this.keyShare = properties.perKey().share();
+    this.limitRejections = rejections(meterRegistry, "limit");
+    this.keyRejections = rejections(meterRegistry, "client");
+    if (enabled) {
+      Gauge.builder("admission.inflight", limit, ConcurrencyLimit::inFlight)
+          .description("Conversion requests being handled")
+          .register(meterRegistry);
+      Gauge.builder("admission.limit", limit, ConcurrencyLimit::limit)
+          .description("Conversion requests admitted at most at once")
+          .register(meterRegistry);
+    }
+  }
+
+  private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+    return Counter.builder("admission.rejected")
+        .description("Conversion requests shed by admission control")
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (!enabled) {
+      return true;
+    }
+    String path = path(request);
+    return !path.startsWith(PATH) || path.equals(STREAM_PATH);
+  }
+
+  private static String path(HttpServletRequest request) {
+    return request.getRequestURI().substring(request.getContextPath().length());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String key = null;
+    if (perKey) {
+      key = request.getHeader(keyHeader);
+      if (key == null) {
+        key = "";
+      }
+      if (!tryAcquire(key)) {
+        keyRejections.increment();
+        reject(response);
+        return;
+      }
+    }
+    if (!limit.tryAcquire()) {
+      if (key != null) {
+        release(key);
+      }
+      limitRejections.increment();
+      reject(response);
+      return;
+    }
+
+    boolean sampled = !path(request).equals(BATCH_PATH);
+    long start = System.nanoTime();
+    boolean completed = false;
+    try {
+      chain.doFilter(request, response);
+      completed = true;
+    } finally {
+      // Server errors are mostly the provider failing fast, which says nothing about the load.
+      limit.release(System.nanoTime() - start, sampled && completed && response.getStatus() < 500);
+      if (key != null) {
+        release(key);
+      }
+    }
+  }
+
+  private boolean tryAcquire(String key) {
+    int max = Math.max(1, (int) (limit.limit() * keyShare));
+    boolean[] admitted = {false};
+    keyInFlight.compute(
+        key,
+        (k, current) -> {
+          int count = current == null ? 0 : current;
+          if (count >= max) {
+            return current;
+          }
+          admitted[0] = true;
+          return count + 1;
+        });
+    return admitted[0];
+  }
+
+  private void release(String key) {
+    keyInFlight.computeIfPresent(key, (k, current) -> current == 1 ? null : current - 1);
+  }
+
+  private void reject(HttpServletResponse response) throws IOException {
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(REJECTED.length);
+    response.getOutputStream().write(REJECTED);
+  }
+}
@@ -0,0 +1,155 @@
+package com.forexconverter.conversion;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "forex.admission")
+public class AdmissionProperties {
+
+  /** Share of the concurrency limit a single client may hold, see {@link AdmissionFilter}. */
+  public static class PerKey {
+
+    private boolean enabled = false;
+
+    /** Header identifying the client. Requests without it share one bucket. */
+    @NotBlank private String header = "X-API-Key";
+
+    /** Fraction of the current limit a single client may hold. */
+    @DecimalMin(value = "0", inclusive = false)
+    @DecimalMax("1")
+    private double share = 0.5;
+
+    public boolean enabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public String header() {
+      return header;
+    }
+
+    public void setHeader(String header) {
+      this.header = header;
+    }
+
+    public double share() {
+      return share;
+    }
+
+    public void setShare(double share) {
+      this.share = share;
+    }
+  }
+
+  private boolean enabled = true;
+
+  /** Concurrent requests admitted before any latency has been measured. */
+  @Positive private int initialLimit = 50;
+
+  @Positive private int minLimit = 10;
+
+  @Positive private int maxLimit = 500;
+
+  /**
+   * Ratio of the recent to the long-term latency tolerated before the limit is lowered, so that
+   * normal jitter does not shrink it.
+   */
+  @DecimalMin("1")
+  private double tolerance = 1.5;
+
+  /** Weight of every new limit estimate, smoothing out single slow responses. */
+  @DecimalMin(value = "0", inclusive = false)
+  @DecimalMax("1")
+  private double smoothing = 0.2;
+
+  /** Number of responses the long-term latency is averaged over. */
+  @Positive private int longWindow = 600;
+
+  /** Sent as {@code Retry-After} with a shed request, rounded up to whole seconds. */
+  @NotNull private Duration retryAfter = Duration.ofSeconds(1);
+
+  @Valid @NotNull private PerKey perKey = new PerKey();
+
+  public boolean enabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int initialLimit() {
+    return initialLimit;
+  }
+
+  public void setInitialLimit(int initialLimit) {
+    this.initialLimit = initialLimit;
+  }
+
+  public int minLimit() {
+    return minLimit;
+  }
+
+  public void setMinLimit(int minLimit) {
+    this.minLimit = minLimit;
+  }
+
+  public int maxLimit() {
+    return maxLimit;
+  }
+
+  public void setMaxLimit(int maxLimit) {
+    this.maxLimit = maxLimit;
+  }
+
+  public double tolerance() {
+    return tolerance;
+  }
+
+  public void setTolerance(double tolerance) {
+    this.tolerance = tolerance;
+  }
+
+  public double smoothing() {
+    return smoothing;
+  }
+
+  public void setSmoothing(double smoothing) {
+    this.smoothing = smoothing;
+  }
+
+  public int longWindow() {
+    return longWindow;
+  }
+
+  public void setLongWindow(int longWindow) {
+    this.longWindow = longWindow;
+  }
+
+  public Duration retryAfter() {
+    return retryAfter;
+  }
+
+  public void setRetryAfter(Duration retryAfter) {
+    this.retryAfter = retryAfter;
+  }
+
+  public PerKey perKey() {
+    return perKey;
+  }
+
+  public void setPerKey(PerKey perKey) {
+    this.perKey = perKey;
+  }
+}
@@ -0,0 +1,191 @@
+package com.forexconverter.conversion;
+
+import com.forexconverter.rate.CurrencyIndex;
+import com.forexconverter.rate.CurrencyPair;
+import com.forexconverter.rate.Provider;
+import com.forexconverter.rate.Quote;
+import com.forexconverter.rate.RateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Converts a JSON array of {@link BatchItemDTO} items, streaming one result per item in request
+ * order.
+ *
+ * <p>Items are read and written one at a time, so memory use does not grow with the batch size. The
+ * rate of each distinct pair is resolved once per batch, and a failing item is reported in its slot
+ * as an {@link ErrorResponseDTO} instead of failing the batch. Only malformed JSON ends the batch,
+ * since the items after it cannot be read.
+ */
+@Component
+public class BatchConverter {
+
+  private static final Logger log = LoggerFactory.getLogger(BatchConverter.class);
+
+  private final ConversionService service;
+  private final Provider provider;
+  private final ObjectMapper objectMapper;
+  private final ObjectReader itemReader;
+  private final Validator validator;
+  private final Counter succeeded;
+  private final Counter failed;
+
+  public BatchConverter(
+      ConversionService service,
+      Provider provider,
+      ObjectMapper objectMapper,
+      Validator validator,
+      MeterRegistry meterRegistry) {
+    this.service = service;
+    this.provider = provider;
+    this.objectMapper = objectMapper;
+    this.itemReader = objectMapper.readerFor(BatchItemDTO.class);
+    this.validator = validator;
+    this.succeeded =
+        Counter.builder("conversion.batch.items")
+            .description("Number of converted batch items by outcome")
+            .tag("outcome", "success")
+            .register(meterRegistry);
+    this.failed =
+        Counter.builder("conversion.batch.items")
+            .description("Number of converted batch items by outcome")
+            .tag("outcome", "error")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Reads the batch from {@code input} and writes the results to {@code output}.
+   *
+   * @throws InvalidBatchException if the input does not start with a JSON array, before anything is
+   *     written
+   */
+  public void convert(InputStream input, OutputStream output) {
+    try (JsonParser parser = objectMapper.createParser(input)) {
+      if (nextToken(parser) != JsonToken.START_ARRAY) {
+        throw new InvalidBatchException("Request body must be a JSON array");
+      }
+
+      try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+        generator.writeStartArray();
+        Map<CurrencyPair, RateResult> rates = new HashMap<>();
+        Provider batchProvider =
+            new Provider() {
+              @Override
+              public BigDecimal getRate(Currency from, Currency to) {
+                return getQuote(from, to).rate();
+              }
+
+              @Override
+              public Quote getQuote(Currency from, Currency to) {
+                return lookup(from, to).orElseThrow();
+              }
+
+              @Override
+              public RateResult lookup(Currency from, Currency to) {
+                return rates.computeIfAbsent(
+                    CurrencyPair.of(from, to), pair -> provider.lookup(from, to));
+              }
+            };
+
+        while (true) {
+          JsonNode node;
+          try {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+              break;
+            }
+            if (token == null) {
+              failed.increment();
+              generator.writePOJO(new ErrorResponseDTO("Malformed batch item"));
+              break;
+            }
+            if (token != JsonToken.START_OBJECT) {
+              parser.skipChildren();
+              failed.increment();
+              generator.writePOJO(new ErrorResponseDTO("Batch item must be an object"));
+              continue;
+            }
+            node = parser.readValueAsTree();
+          } catch (JacksonException e) {
+            // The parser cannot resynchronise within a malformed array, so the batch ends here.
+            failed.increment();
+            generator.writePOJO(new ErrorResponseDTO("Malformed batch item"));
+            break;
+          }
+          generator.writePOJO(convert(node, batchProvider));
+        }
+
+        generator.writeEndArray();
+      }
+    }
+  }
+
+  private ResponseDTO convert(JsonNode node, Provider batchProvider) {
+    BatchItemDTO item;
+    try {
+      // Bound from the tree, so that an item of the wrong shape fails alone.
+      item = itemReader.treeToValue(node, BatchItemDTO.class);
+    } catch (JacksonException e) {
+      failed.increment();
+      return new ErrorResponseDTO("Invalid batch item");
+    }
+
+    Set<ConstraintViolation<BatchItemDTO>> violations = validator.validate(item);
+    if (!violations.isEmpty()) {
+      failed.increment();
+      return new ErrorResponseDTO(violations.iterator().next().getMessage());
+    }
+
+    Currency from = CurrencyIndex.parse(item.from());
+    Currency to = CurrencyIndex.parse(item.to());
+    if (from == null || to == null) {
+      failed.increment();
+      return new ErrorResponseDTO(
+          "Invalid currency code: " + (from == null ? item.from() : item.to()));
+    }
+
+    try {
+      return switch (service.convert(from, to, item.amount(), batchProvider)) {
+        case Conversion conversion -> {
+          succeeded.increment();
+          yield new SuccessResponseDTO(conversion);
+        }
+        case ConversionFailure failure -> {
+          failed.increment();
+          yield new ErrorResponseDTO(failure.rate().message());
+        }
+      };
+    } catch (RuntimeException e) {
+      log.error("Unexpected error converting batch item: {}", e.getMessage(), e);
+      failed.increment();
+      return new ErrorResponseDTO("An unexpected error occurred");
+    }
+  }
+
+  private static JsonToken nextToken(JsonParser parser) {
+    try {
+      return parser.nextToken();
+    } catch (JacksonException e) {
+      throw new InvalidBatchException("Request body must be a JSON array", e);
+    }
+  }
+}
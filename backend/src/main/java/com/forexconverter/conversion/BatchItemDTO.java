@@ -0,0 +1,15 @@
+package com.forexconverter.conversion;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import java.math.BigDecimal;
+
+public record BatchItemDTO(
+    @NotBlank(message = "Source currency is required") String from,
+    @NotBlank(message = "Target currency is required") String to,
+    @Digits(integer = 15, fraction = 2, message = "Amount must have at most 2 decimal places")
+        @DecimalMin(value = "0.01", message = "Amount must be at least 0.01")
+        @DecimalMax(value = "100000000000", message = "Amount must be at most 100000000000")
+        BigDecimal amount) {}
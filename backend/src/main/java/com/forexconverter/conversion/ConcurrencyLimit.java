@@ -0,0 +1,93 @@
+package com.forexconverter.conversion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limit of concurrent requests that adapts to their latency.
+ *
+ * <p>The limit follows the gradient between the long-term and the latest latency. While responses
+ * are as fast as usual, it grows by about its square root per response, leaving room for a small
+ * queue. Once latency rises past the tolerance, it shrinks in proportion, down to half per
+ * response. The long-term latency is an average over many responses, so it follows a lasting change
+ * of the backend while the limit reacts to the queueing it causes.
+ */
+class ConcurrencyLimit {
+
+  private static final double MIN_GRADIENT = 0.5;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double smoothing;
+  private final int longWindow;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int limit;
+
+  // Guarded by this.
+  private double estimatedLimit;
+  private double longRtt;
+  private int samples;
+
+  ConcurrencyLimit(AdmissionProperties properties) {
+    this.minLimit = properties.minLimit();
+    this.maxLimit = Math.max(minLimit, properties.maxLimit());
+    this.tolerance = properties.tolerance();
+    this.smoothing = properties.smoothing();
+    this.longWindow = properties.longWindow();
+    this.estimatedLimit = Math.clamp(properties.initialLimit(), minLimit, maxLimit);
+    this.limit = (int) estimatedLimit;
+  }
+
+  /** Admits a request if fewer than the limit are in flight. */
+  boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Completes an admitted request.
+   *
+   * @param rttNanos time the request took
+   * @param sample whether its latency reflects the load, false for failures that return early
+   */
+  void release(long rttNanos, boolean sample) {
+    int current = inFlight.getAndDecrement();
+    if (sample && rttNanos > 0) {
+      update(rttNanos, current);
+    }
+  }
+
+  private synchronized void update(long rtt, int inFlight) {
+    if (samples < longWindow) {
+      samples++;
+    }
+    longRtt += (rtt - longRtt) / samples;
+    if (longRtt / rtt > 2) {
+      // Latency has dropped for good, so the long-term average follows it faster.
+      longRtt *= 0.95;
+    }
+    if (inFlight < estimatedLimit / 2) {
+      // Far below the limit, the latency says nothing about whether it could be higher.
+      return;
+    }
+    double gradient = Math.clamp(tolerance * longRtt / rtt, MIN_GRADIENT, 1.0);
+    double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+    estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+    limit = (int) estimatedLimit;
+  }
+
+  int limit() {
+    return limit;
+  }
+
+  int inFlight() {
+    return inFlight.get();
+  }
+}
@@ -0,0 +1,18 @@
+package com.forexconverter.conversion;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Result of a conversion.
+ *
+ * @param staleRateDate the date of the rate if it was served stale because the provider failed,
+ *     otherwise {@code null}
+ */
+public record Conversion(BigDecimal result, LocalDate staleRateDate) implements ConversionResult {
+
+  @Override
+  public Conversion orElseThrow() {
+    return this;
+  }
+}
@@ -1,27 +1,62 @@
 package com.forexconverter.conversion;
 
+import com.forexconverter.rate.CurrencyIndex;
+import com.forexconverter.rate.RateHistory;
+import com.forexconverter.rate.RateVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Currency;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 public class ConversionController {
   private final ConversionService service;
+  private final BatchConverter batchConverter;
+  private final RateHistory history;
+  private final RateVersion versions;
+  private final ConversionExceptionHandler errors;
+  private final Counter invalidPairs;
 
-  public ConversionController(ConversionService service) {
+  public ConversionController(
+      ConversionService service,
+      BatchConverter batchConverter,
+      RateHistory history,
+      RateVersion versions,
+      ConversionExceptionHandler errors,
+      MeterRegistry meterRegistry) {
     this.service = service;
+    this.batchConverter = batchConverter;
+    this.history = history;
+    this.versions = versions;
+    this.errors = errors;
+    this.invalidPairs =
+        Counter.builder("controller.errors")
+            .description("Number of controller errors by type")
+            .tag("type", "InvalidCurrencyPair")
+            .register(meterRegistry);
   }
 
   @GetMapping("/convert/{from}-{to}")
-  public ResponseEntity<ResponseDTO> convert(
+  public ResponseDTO convert(
       @PathVariable String from,
       @PathVariable String to,
       @RequestParam(required = false)
@@ -29,10 +64,64 @@ public class ConversionController {
           @Digits(integer = 15, fraction = 2, message = "Amount must have at most 2 decimal places")
           @DecimalMin(value = "0.01", message = "Amount must be at least 0.01")
           @DecimalMax(value = "100000000000", message = "Amount must be at most 100000000000")
-          BigDecimal amount) {
-    Currency fromCurrency = Currency.getInstance(from.toUpperCase());
-    Currency toCurrency = Currency.getInstance(to.toUpperCase());
-    BigDecimal result = service.convert(fromCurrency, toCurrency, amount);
-    return ResponseEntity.ok(new SuccessResponseDTO(result));
+          BigDecimal amount,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+      ServletWebRequest request) {
+    // Rejected without an exception, so that a flood of bad codes stays cheap.
+    Currency fromCurrency = CurrencyIndex.parse(from);
+    Currency toCurrency = CurrencyIndex.parse(to);
+    if (fromCurrency == null || toCurrency == null) {
+      invalidPairs.increment();
+      request.getResponse().setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      return new ErrorResponseDTO("Invalid currency code: " + (fromCurrency == null ? from : to));
+    }
+
+    // The version is read before the lookup, so it never labels older rates than the response.
+    String etag = versions.etag();
+    CacheControl cacheControl = CacheControl.maxAge(versions.untilRefresh()).cachePublic();
+    if (notModified(request, etag)) {
+      request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+      return null;
+    }
+
+    ConversionResult result =
+        date == null
+            ? service.convert(fromCurrency, toCurrency, amount)
+            : service.convert(fromCurrency, toCurrency, amount, history.at(date));
+    return switch (result) {
+      case Conversion conversion -> {
+        if (conversion.staleRateDate() != null) {
+          // Revalidate, so that the fresh rate is picked up once the provider has recovered.
+          cacheControl = CacheControl.noCache();
+        }
+        request.getResponse().setHeader(HttpHeaders.ETAG, etag);
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        yield new SuccessResponseDTO(conversion);
+      }
+      case ConversionFailure failure -> {
+        ResponseEntity<ResponseDTO> error = errors.handleRateFailure(failure.rate());
+        request.getResponse().setStatus(error.getStatusCode().value());
+        yield error.getBody();
+      }
+    };
+  }
+
+  /**
+   * Whether the request names the current version. {@code checkNotModified} also stamps the ETag on
+   * a response it lets through, so it is only asked when the request may match, leaving failures
+   * without an ETag.
+   */
+  private static boolean notModified(ServletWebRequest request, String etag) {
+    String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+    return ifNoneMatch != null && ifNoneMatch.contains(etag) && request.checkNotModified(etag);
+  }
+
+  @PostMapping(
+      value = "/convert/batch",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public void convertBatch(InputStream body, HttpServletResponse response) throws IOException {
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    batchConverter.convert(body, response.getOutputStream());
   }
 }
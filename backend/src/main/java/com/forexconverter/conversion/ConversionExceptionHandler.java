@@ -2,6 +2,9 @@ package com.forexconverter.conversion;
 
 import com.forexconverter.rate.ProviderException;
 import com.forexconverter.rate.ProviderRateNotFoundException;
+import com.forexconverter.rate.RateFailure;
+import com.forexconverter.stream.InvalidSubscriptionException;
+import com.forexconverter.stream.SubscriberLimitException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
@@ -45,10 +48,30 @@ public class ConversionExceptionHandler {
         .body(new ErrorResponseDTO("Invalid currency code: " + ex.getMessage()));
   }
 
+  @ExceptionHandler(InvalidBatchException.class)
+  public ResponseEntity<ResponseDTO> handleInvalidBatch(InvalidBatchException ex) {
+    getErrorCounter("InvalidBatchException").increment();
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(new ErrorResponseDTO(ex.getMessage()));
+  }
+
+  @ExceptionHandler(InvalidSubscriptionException.class)
+  public ResponseEntity<ResponseDTO> handleInvalidSubscription(InvalidSubscriptionException ex) {
+    getErrorCounter("InvalidSubscriptionException").increment();
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(new ErrorResponseDTO(ex.getMessage()));
+  }
+
+  @ExceptionHandler(SubscriberLimitException.class)
+  public ResponseEntity<ResponseDTO> handleSubscriberLimit(SubscriberLimitException ex) {
+    getErrorCounter("SubscriberLimitException").increment();
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .body(new ErrorResponseDTO(ex.getMessage()));
+  }
+
   @ExceptionHandler(ProviderRateNotFoundException.class)
   public ResponseEntity<ResponseDTO> handleRateNotFound(ProviderRateNotFoundException ex) {
-    getErrorCounter("ProviderRateNotFoundException").increment();
-    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponseDTO(ex.getMessage()));
+    return handleRateFailure(RateFailure.of(ex));
   }
 
   @ExceptionHandler(ConstraintViolationException.class)
@@ -74,9 +97,25 @@ public class ConversionExceptionHandler {
 
   @ExceptionHandler(ProviderException.class)
   public ResponseEntity<ResponseDTO> handleRateProviderException(ProviderException ex) {
-    getErrorCounter("ProviderException").increment();
-    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-        .body(new ErrorResponseDTO(ex.getMessage()));
+    return handleRateFailure(RateFailure.of(ex));
+  }
+
+  /**
+   * Returns the response to a failed rate lookup, the same as for the exception that signals it.
+   */
+  public ResponseEntity<ResponseDTO> handleRateFailure(RateFailure failure) {
+    return switch (failure.reason()) {
+      case NOT_FOUND -> {
+        getErrorCounter("ProviderRateNotFoundException").increment();
+        yield ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(new ErrorResponseDTO(failure.message()));
+      }
+      case UNAVAILABLE -> {
+        getErrorCounter("ProviderException").increment();
+        yield ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(new ErrorResponseDTO(failure.message()));
+      }
+    };
   }
 
   @ExceptionHandler(Exception.class)
@@ -0,0 +1,12 @@
+package com.forexconverter.conversion;
+
+import com.forexconverter.rate.RateFailure;
+
+/** A conversion that failed because its rate could not be looked up. */
+public record ConversionFailure(RateFailure rate) implements ConversionResult {
+
+  @Override
+  public Conversion orElseThrow() {
+    throw rate.exception();
+  }
+}
@@ -0,0 +1,57 @@
+package com.forexconverter.conversion;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.math.RoundingMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "forex.conversion")
+public class ConversionProperties {
+
+  /** How {@link ConversionService} multiplies an amount by its rate. */
+  public enum Arithmetic {
+    /** Exact {@code BigDecimal} multiplication, the scale of the result is not bounded. */
+    BIG_DECIMAL,
+    /**
+     * Scaled {@code long} multiplication rounded to {@code scale}, falling back to {@code
+     * BigDecimal} on overflow with the same result.
+     */
+    FIXED_POINT
+  }
+
+  @NotNull private Arithmetic arithmetic = Arithmetic.BIG_DECIMAL;
+
+  /** Maximum number of fraction digits of a fixed-point result. */
+  @Min(0)
+  @Max(18)
+  private int scale = 8;
+
+  @NotNull private RoundingMode roundingMode = RoundingMode.HALF_EVEN;
+
+  public Arithmetic arithmetic() {
+    return arithmetic;
+  }
+
+  public void setArithmetic(Arithmetic arithmetic) {
+    this.arithmetic = arithmetic;
+  }
+
+  public int scale() {
+    return scale;
+  }
+
+  public void setScale(int scale) {
+    this.scale = scale;
+  }
+
+  public RoundingMode roundingMode() {
+    return roundingMode;
+  }
+
+  public void setRoundingMode(RoundingMode roundingMode) {
+    this.roundingMode = roundingMode;
+  }
+}
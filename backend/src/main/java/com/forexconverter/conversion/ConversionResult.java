@@ -0,0 +1,11 @@
+package com.forexconverter.conversion;
+
+/**
+ * Outcome of a conversion: the {@link Conversion}, or the {@link ConversionFailure} that prevented
+ * it.
+ */
+public sealed interface ConversionResult permits Conversion, ConversionFailure {
+
+  /** Returns the conversion, or throws the exception of the failure. */
+  Conversion orElseThrow();
+}
@@ -1,26 +1,115 @@
 package com.forexconverter.conversion;
 
 import com.forexconverter.rate.Provider;
+import com.forexconverter.rate.Quote;
+import com.forexconverter.rate.RateFailure;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.Currency;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ConversionService {
   private final Provider provider;
+  private final boolean fixedPoint;
+  private final int scale;
+  private final RoundingMode roundingMode;
+  private final Timer succeeded;
+  private final Timer failed;
+  private final Counter fixedPointFallbacks;
 
-  public ConversionService(Provider provider) {
+  public ConversionService(
+      Provider provider, ConversionProperties properties, MeterRegistry meterRegistry) {
     this.provider = provider;
+    this.fixedPoint = properties.arithmetic() == ConversionProperties.Arithmetic.FIXED_POINT;
+    this.scale = properties.scale();
+    this.roundingMode = properties.roundingMode();
+    this.succeeded = timer(meterRegistry, "success");
+    this.failed = timer(meterRegistry, "error");
+    this.fixedPointFallbacks =
+        Counter.builder("conversion.fixed.point.fallbacks")
+            .description("Number of fixed-point conversions computed with BigDecimal on overflow")
+            .register(meterRegistry);
   }
 
-  public BigDecimal convert(Currency from, Currency to, BigDecimal amount) {
+  private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder("conversion.duration")
+        .description("Time to convert an amount, including the rate lookup")
+        .tag("outcome", outcome)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  public ConversionResult convert(Currency from, Currency to, BigDecimal amount) {
+    return convert(from, to, amount, provider);
+  }
+
+  /**
+   * Converts with rates resolved through {@code rates} instead of the configured provider.
+   *
+   * <p>A rate that cannot be looked up is returned as a {@link ConversionFailure}. Only unexpected
+   * failures are thrown.
+   */
+  public ConversionResult convert(Currency from, Currency to, BigDecimal amount, Provider rates) {
+    long start = System.nanoTime();
+    try {
+      ConversionResult result = doConvert(from, to, amount, rates);
+      Timer timer = result instanceof Conversion ? succeeded : failed;
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (RuntimeException e) {
+      failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+  }
+
+  private ConversionResult doConvert(
+      Currency from, Currency to, BigDecimal amount, Provider rates) {
     if (from.equals(to)) {
-      return amount != null ? amount : BigDecimal.ONE;
+      return new Conversion(amount != null ? amount : BigDecimal.ONE, null);
     }
-    BigDecimal rate = provider.getRate(from, to);
+    return switch (rates.lookup(from, to)) {
+      case Quote quote -> convert(quote, amount);
+      case RateFailure failure -> new ConversionFailure(failure);
+    };
+  }
+
+  private Conversion convert(Quote quote, BigDecimal amount) {
+    LocalDate staleRateDate = quote.stale() ? quote.date() : null;
     if (amount == null) {
-      return rate;
+      return new Conversion(quote.rate(), staleRateDate);
+    }
+    return new Conversion(multiply(quote, amount), staleRateDate);
+  }
+
+  private BigDecimal multiply(Quote quote, BigDecimal amount) {
+    BigDecimal rate = quote.rate();
+    if (!fixedPoint) {
+      return rate.multiply(amount);
+    }
+
+    long unscaledAmount = Quote.unscaled(amount);
+    if (quote.unscaledRate() != Quote.NOT_COMPACT && unscaledAmount != Quote.NOT_COMPACT) {
+      BigDecimal result =
+          FixedPoint.multiply(
+              quote.unscaledRate(),
+              rate.scale(),
+              unscaledAmount,
+              amount.scale(),
+              scale,
+              roundingMode);
+      if (result != null) {
+        return result;
+      }
     }
-    return rate.multiply(amount);
+    fixedPointFallbacks.increment();
+    BigDecimal exact = rate.multiply(amount);
+    return exact.scale() > scale ? exact.setScale(scale, roundingMode) : exact;
   }
 }
@@ -0,0 +1,76 @@
+package com.forexconverter.conversion;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Multiplication of decimals held as an unscaled {@code long} and a scale.
+ *
+ * <p>The product is rounded to at most {@code scale} fraction digits and equals {@code
+ * a.multiply(b)}, passed through {@code setScale(scale, roundingMode)} when its scale is larger.
+ */
+final class FixedPoint {
+
+  private static final long[] POWERS_OF_TEN = new long[19];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private FixedPoint() {}
+
+  /**
+   * Returns the rounded product of {@code a * 10^-aScale} and {@code b * 10^-bScale}, or {@code
+   * null} if it cannot be computed in a {@code long}.
+   *
+   * @throws ArithmeticException if {@code roundingMode} is {@link RoundingMode#UNNECESSARY} and the
+   *     product has to be rounded
+   */
+  static BigDecimal multiply(
+      long a, int aScale, long b, int bScale, int scale, RoundingMode roundingMode) {
+    long product = a * b;
+    if (Math.multiplyHigh(a, b) != product >> 63) {
+      // Overflow is expected for large amounts, so it is detected without an exception.
+      return null;
+    }
+    long productScale = (long) aScale + bScale;
+    if (productScale <= scale) {
+      return productScale < Integer.MIN_VALUE
+          ? null
+          : BigDecimal.valueOf(product, (int) productScale);
+    }
+    long excess = productScale - scale;
+    if (excess >= POWERS_OF_TEN.length) {
+      return null;
+    }
+    return BigDecimal.valueOf(divide(product, POWERS_OF_TEN[(int) excess], roundingMode), scale);
+  }
+
+  /** Divides by a positive {@code divisor}, rounding the quotient like {@link BigDecimal}. */
+  private static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+    long quotient = dividend / divisor;
+    long remainder = dividend % divisor;
+    if (remainder == 0) {
+      return quotient;
+    }
+
+    int signum = dividend < 0 ? -1 : 1;
+    // Both are below 10^18, so doubling the remainder cannot overflow.
+    int half = Long.compare(Math.abs(remainder) * 2, divisor);
+    boolean increment =
+        switch (roundingMode) {
+          case UP -> true;
+          case DOWN -> false;
+          case CEILING -> signum > 0;
+          case FLOOR -> signum < 0;
+          case HALF_UP -> half >= 0;
+          case HALF_DOWN -> half > 0;
+          case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+          case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+    return increment ? quotient + signum : quotient;
+  }
+}
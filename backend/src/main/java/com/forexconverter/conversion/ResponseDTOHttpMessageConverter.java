@@ -0,0 +1,242 @@
+package com.forexconverter.conversion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes {@link SuccessResponseDTO} and {@link ErrorResponseDTO} as JSON without going through
+ * Jackson.
+ *
+ * <p>The response is encoded into a buffer taken from a small pool and written to the body in one
+ * call together with its {@code Content-Length}. The output is the same as Jackson's: numbers are
+ * written with {@link BigDecimal#toString()}, dates as ISO strings, strings with Jackson's escaping
+ * and a {@code null} {@code staleRateDate} is omitted.
+ */
+@Component
+public class ResponseDTOHttpMessageConverter extends AbstractHttpMessageConverter<ResponseDTO> {
+
+  private static final int BUFFER_SIZE = 512;
+  private static final int POOL_SIZE = 64;
+
+  private static final byte[] RESULT = bytes("{\"result\":");
+  private static final byte[] STALE_RATE_DATE = bytes(",\"staleRateDate\":\"");
+  private static final byte[] ERROR = bytes("{\"error\":");
+  private static final byte[] NULL = bytes("null");
+  private static final byte[] HEX = bytes("0123456789abcdef");
+
+  private final BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+  public ResponseDTOHttpMessageConverter() {
+    super(MediaType.APPLICATION_JSON);
+  }
+
+  private static byte[] bytes(String ascii) {
+    return ascii.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return clazz == SuccessResponseDTO.class || clazz == ErrorResponseDTO.class;
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected ResponseDTO readInternal(
+      Class<? extends ResponseDTO> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Responses cannot be read", inputMessage);
+  }
+
+  @Override
+  protected void writeInternal(ResponseDTO response, HttpOutputMessage outputMessage)
+      throws IOException {
+    byte[] buffer = buffers.poll();
+    if (buffer == null) {
+      buffer = new byte[BUFFER_SIZE];
+    }
+    try {
+      Encoder encoder = new Encoder(buffer);
+      encode(response, encoder);
+      if (encoder.position < 0) {
+        // Longer than a pooled buffer, only possible for an unusually long error message.
+        writeOversized(response, outputMessage.getBody());
+        return;
+      }
+      outputMessage.getHeaders().setContentLength(encoder.position);
+      outputMessage.getBody().write(buffer, 0, encoder.position);
+    } finally {
+      buffers.offer(buffer);
+    }
+  }
+
+  private static void writeOversized(ResponseDTO response, OutputStream body) throws IOException {
+    Encoder encoder = new Encoder(new byte[BUFFER_SIZE]);
+    while (true) {
+      encode(response, encoder);
+      if (encoder.position >= 0) {
+        body.write(encoder.buffer, 0, encoder.position);
+        return;
+      }
+      encoder = new Encoder(new byte[encoder.buffer.length * 2]);
+    }
+  }
+
+  private static void encode(ResponseDTO response, Encoder encoder) {
+    switch (response) {
+      case SuccessResponseDTO success -> {
+        encoder.write(RESULT);
+        encoder.writeNumber(success.result());
+        if (success.staleRateDate() != null) {
+          encoder.write(STALE_RATE_DATE);
+          encoder.writeDate(success.staleRateDate());
+          encoder.write((byte) '"');
+        }
+        encoder.write((byte) '}');
+      }
+      case ErrorResponseDTO error -> {
+        encoder.write(ERROR);
+        encoder.writeString(error.error());
+        encoder.write((byte) '}');
+      }
+      default -> throw new IllegalArgumentException("Unsupported response " + response.getClass());
+    }
+  }
+
+  /** Writes into a fixed buffer, setting {@code position} to -1 once it does not fit. */
+  private static final class Encoder {
+
+    private final byte[] buffer;
+    private int position;
+
+    Encoder(byte[] buffer) {
+      this.buffer = buffer;
+    }
+
+    void write(byte b) {
+      if (position < 0) {
+        return;
+      }
+      if (position == buffer.length) {
+        position = -1;
+        return;
+      }
+      buffer[position++] = b;
+    }
+
+    void write(byte[] bytes) {
+      if (position < 0) {
+        return;
+      }
+      if (position + bytes.length > buffer.length) {
+        position = -1;
+        return;
+      }
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    void writeNumber(BigDecimal number) {
+      if (number == null) {
+        write(NULL);
+        return;
+      }
+      // BigDecimal caches its string form, and it only holds ASCII characters.
+      String digits = number.toString();
+      for (int i = 0; i < digits.length(); i++) {
+        write((byte) digits.charAt(i));
+      }
+    }
+
+    void writeDate(LocalDate date) {
+      int year = date.getYear();
+      if (year < 0 || year > 9999) {
+        writeAscii(date.toString());
+        return;
+      }
+      writeDigits(year, 4);
+      write((byte) '-');
+      writeDigits(date.getMonthValue(), 2);
+      write((byte) '-');
+      writeDigits(date.getDayOfMonth(), 2);
+    }
+
+    private void writeDigits(int value, int width) {
+      for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+        write((byte) ('0' + value / divisor % 10));
+      }
+    }
+
+    private void writeAscii(String ascii) {
+      for (int i = 0; i < ascii.length(); i++) {
+        write((byte) ascii.charAt(i));
+      }
+    }
+
+    void writeString(String value) {
+      if (value == null) {
+        write(NULL);
+        return;
+      }
+      write((byte) '"');
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        if (c == '"' || c == '\\') {
+          write((byte) '\\');
+          write((byte) c);
+        } else if (c < 0x20) {
+          writeControl(c);
+        } else if (c < 0x80) {
+          write((byte) c);
+        } else if (c < 0x800) {
+          write((byte) (0xc0 | c >> 6));
+          write((byte) (0x80 | c & 0x3f));
+        } else if (Character.isHighSurrogate(c)
+            && i + 1 < value.length()
+            && Character.isLowSurrogate(value.charAt(i + 1))) {
+          int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          write((byte) (0xf0 | codePoint >> 18));
+          write((byte) (0x80 | codePoint >> 12 & 0x3f));
+          write((byte) (0x80 | codePoint >> 6 & 0x3f));
+          write((byte) (0x80 | codePoint & 0x3f));
+        } else {
+          write((byte) (0xe0 | c >> 12));
+          write((byte) (0x80 | c >> 6 & 0x3f));
+          write((byte) (0x80 | c & 0x3f));
+        }
+      }
+      write((byte) '"');
+    }
+
+    private void writeControl(char c) {
+      write((byte) '\\');
+      switch (c) {
+        case '\b' -> write((byte) 'b');
+        case '\t' -> write((byte) 't');
+        case '\n' -> write((byte) 'n');
+        case '\f' -> write((byte) 'f');
+        case '\r' -> write((byte) 'r');
+        default -> {
+          write((byte) 'u');
+          write((byte) '0');
+          write((byte) '0');
+          write(HEX[c >> 4]);
+          write(HEX[c & 0xf]);
+        }
+      }
+    }
+  }
+}
@@ -1,5 +1,22 @@
 package com.forexconverter.conversion;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
-public record SuccessResponseDTO(BigDecimal result) implements ResponseDTO {}
+/**
+ * @param staleRateDate date of the rate the result was computed with, only present when the rate
+ *     was served stale because the provider failed
+ */
+public record SuccessResponseDTO(
+    BigDecimal result, @JsonInclude(JsonInclude.Include.NON_NULL) LocalDate staleRateDate)
+    implements ResponseDTO {
+
+  public SuccessResponseDTO(BigDecimal result) {
+    this(result, null);
+  }
+
+  public SuccessResponseDTO(Conversion conversion) {
+    this(conversion.result(), conversion.staleRateDate());
+  }
+}
@@ -1,7 +1,10 @@
 package com.forexconverter.rate;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
-import java.util.concurrent.TimeUnit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -16,13 +19,56 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableScheduling
 public class CacheConfig {
 
-    public static final String EXCHANGE_RATES_CACHE = "exchangeRates";
+  public static final String EXCHANGE_RATES_CACHE = "exchangeRates";
 
-    @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(EXCHANGE_RATES_CACHE);
-        cacheManager.setCaffeine(
-                Caffeine.newBuilder().expireAfterWrite(24, TimeUnit.HOURS).maximumSize(35000).recordStats());
-        return cacheManager;
-    }
+  @Bean
+  public CacheManager cacheManager(CacheProperties properties) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager(EXCHANGE_RATES_CACHE);
+    cacheManager.setCaffeine(
+        Caffeine.newBuilder()
+            .expireAfterWrite(max(properties.hardTtl(), properties.fallbackMaxAge()))
+            .maximumSize(properties.maxSize())
+            .recordStats());
+    return cacheManager;
+  }
+
+  private static Duration max(Duration a, Duration b) {
+    return a.compareTo(b) >= 0 ? a : b;
+  }
+
+  @Bean
+  public RateStore rateStore(CacheManager cacheManager, CacheProperties properties) {
+    return switch (properties.store()) {
+      case MATRIX -> new MatrixRateStore();
+      case CAFFEINE -> new CaffeineRateStore(cacheManager.getCache(EXCHANGE_RATES_CACHE));
+    };
+  }
+
+  /**
+   * Metrics of the rate cache on top of the ones Spring Boot binds for every Caffeine cache: the
+   * number of stored pairs for either store, and the hit ratio of the Caffeine cache.
+   */
+  @Bean
+  public MeterBinder rateCacheMetrics(RateStore rateStore, CacheManager cacheManager) {
+    return registry -> {
+      Gauge.builder("rate.store.size", rateStore, RateStore::size)
+          .description("Number of currency pairs in the rate store")
+          .tag("store", rateStore.getClass().getSimpleName())
+          .register(registry);
+
+      if (rateStore instanceof CaffeineRateStore
+          && cacheManager.getCache(EXCHANGE_RATES_CACHE).getNativeCache()
+              instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+            .description("Ratio of cache lookups that were hits since startup")
+            .tag("cache", EXCHANGE_RATES_CACHE)
+            .register(registry);
+      }
+    };
+  }
+
+  @Bean
+  public Clock clock() {
+    return Clock.systemUTC();
+  }
 }
@@ -0,0 +1,189 @@
+package com.forexconverter.rate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "forex.cache")
+public class CacheProperties {
+
+  /** Backing store used by {@link SwopProvider} for rate lookups. */
+  public enum Store {
+    CAFFEINE,
+    MATRIX
+  }
+
+  /** Loading of all rates on startup and daily, see {@link WarmupRunner}. */
+  public static class Warmup {
+
+    private boolean enabled = true;
+
+    /**
+     * Whether to report ready after the startup warmup failed and no snapshot was restored, serving
+     * rates fetched on demand. Otherwise readiness waits for the next successful refresh.
+     */
+    private boolean startDegraded = true;
+
+    public boolean enabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public boolean startDegraded() {
+      return startDegraded;
+    }
+
+    public void setStartDegraded(boolean startDegraded) {
+      this.startDegraded = startDegraded;
+    }
+  }
+
+  /** Snapshot of the rate cache restored on startup, see {@link SnapshotRunner}. */
+  public static class Snapshot {
+
+    private boolean enabled = true;
+
+    private Path path = Path.of("data", "rates.snapshot");
+
+    public boolean enabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Path path() {
+      return path;
+    }
+
+    public void setPath(Path path) {
+      this.path = path;
+    }
+  }
+
+  /** Caching of pairs the provider does not support, see {@link SwopProvider}. */
+  public static class Negative {
+
+    /** How long a pair the provider rejected is answered locally before it is asked again. */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    private long maxSize = 10000;
+
+    public Duration ttl() {
+      return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+      this.ttl = ttl;
+    }
+
+    public long maxSize() {
+      return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+      this.maxSize = maxSize;
+    }
+  }
+
+  /**
+   * Defaults to {@link Store#MATRIX}, which makes every update visible to readers atomically, as a
+   * single {@link RatesChangedEvent} announces it.
+   */
+  private Store store = Store.MATRIX;
+
+  /** Age after which a rate is still served, but reloaded in the background. */
+  private Duration softTtl = Duration.ofHours(12);
+
+  /**
+   * Age after which a rate is no longer served and has to be reloaded on the request thread. The
+   * default of a day is the longest a rate has ever been served while the provider is healthy.
+   */
+  private Duration hardTtl = Duration.ofHours(24);
+
+  /**
+   * Age up to which a rate past its hard TTL is still served, marked as stale, when reloading it
+   * fails. Entries are kept at least this long.
+   */
+  private Duration fallbackMaxAge = Duration.ofDays(7);
+
+  /**
+   * Maximum number of pairs the {@link Store#CAFFEINE caffeine} store keeps. Defaults to every pair
+   * of known currencies, so that precomputed cross-rates are never evicted to make room for misses.
+   */
+  private long maxSize = (long) CurrencyIndex.SIZE * CurrencyIndex.SIZE;
+
+  private Warmup warmup = new Warmup();
+
+  private Snapshot snapshot = new Snapshot();
+
+  private Negative negative = new Negative();
+
+  public Store store() {
+    return store;
+  }
+
+  public void setStore(Store store) {
+    this.store = store;
+  }
+
+  public Duration softTtl() {
+    return softTtl;
+  }
+
+  public void setSoftTtl(Duration softTtl) {
+    this.softTtl = softTtl;
+  }
+
+  public Duration hardTtl() {
+    return hardTtl;
+  }
+
+  public void setHardTtl(Duration hardTtl) {
+    this.hardTtl = hardTtl;
+  }
+
+  public Duration fallbackMaxAge() {
+    return fallbackMaxAge;
+  }
+
+  public void setFallbackMaxAge(Duration fallbackMaxAge) {
+    this.fallbackMaxAge = fallbackMaxAge;
+  }
+
+  public long maxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public Warmup warmup() {
+    return warmup;
+  }
+
+  public void setWarmup(Warmup warmup) {
+    this.warmup = warmup;
+  }
+
+  public Snapshot snapshot() {
+    return snapshot;
+  }
+
+  public void setSnapshot(Snapshot snapshot) {
+    this.snapshot = snapshot;
+  }
+
+  public Negative negative() {
+    return negative;
+  }
+
+  public void setNegative(Negative negative) {
+    this.negative = negative;
+  }
+}
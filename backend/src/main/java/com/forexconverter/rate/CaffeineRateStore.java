@@ -0,0 +1,39 @@
+package com.forexconverter.rate;
+
+import java.util.Collection;
+import java.util.Currency;
+import org.springframework.cache.Cache;
+
+/** {@link RateStore} over the Spring managed Caffeine cache, keyed by {@link CurrencyPair}. */
+public class CaffeineRateStore implements RateStore {
+
+  private final Cache cache;
+
+  public CaffeineRateStore(Cache cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public Quote get(Currency from, Currency to) {
+    return cache.get(CurrencyPair.of(from, to), Quote.class);
+  }
+
+  @Override
+  public void put(Quote quote) {
+    cache.put(quote.pair(), quote);
+  }
+
+  @Override
+  public long size() {
+    return cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine
+        ? caffeine.estimatedSize()
+        : 0;
+  }
+
+  /** Applies the update entry by entry, so readers may see part of it while it runs. */
+  @Override
+  public void update(Collection<Quote> quotes, Collection<CurrencyPair> removed) {
+    quotes.forEach(this::put);
+    removed.forEach(cache::evict);
+  }
+}
@@ -0,0 +1,288 @@
+package com.forexconverter.rate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker with a count-based sliding window and an adaptive call timeout.
+ *
+ * <p>The breaker opens when the share of failed or slow calls among the last {@code windowSize}
+ * calls reaches its threshold, and rejects calls with a {@link CircuitBreakerException} while open.
+ * After {@code openDuration} it lets {@code halfOpenCalls} probe calls through: it closes again
+ * once all of them succeeded, and opens again on the first failure.
+ *
+ * <p>Every call runs on a virtual thread and is abandoned after {@code timeoutMultiplier} times the
+ * p99 latency of the successful calls in the window, bounded by {@code minTimeout} and {@code
+ * maxTimeout}. Timeouts count as failures.
+ */
+public class CircuitBreaker {
+
+  /** State of the breaker. */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String name;
+  private final CircuitBreakerProperties properties;
+  private final Clock clock;
+  private final Predicate<Throwable> isFailure;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final Counter successful;
+  private final Counter failed;
+  private final Counter slow;
+  private final Counter timedOut;
+  private final Counter notPermitted;
+
+  // Guarded by this.
+  private State state = State.CLOSED;
+  private long openedAt;
+  private int probesStarted;
+  private int probesSucceeded;
+  private final long[] durations;
+  private final boolean[] failures;
+  private int next;
+  private int recorded;
+  private int failureCount;
+  private int slowCount;
+  private long timeoutNanos;
+
+  /**
+   * @param isFailure decides whether an exception thrown by a call counts as a failure, for example
+   *     to ignore client errors of the upstream
+   */
+  public CircuitBreaker(
+      String name,
+      CircuitBreakerProperties properties,
+      Clock clock,
+      Predicate<Throwable> isFailure,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.properties = properties;
+    this.clock = clock;
+    this.isFailure = isFailure;
+    this.durations = new long[properties.windowSize()];
+    this.failures = new boolean[properties.windowSize()];
+    this.timeoutNanos = properties.maxTimeout().toNanos();
+
+    this.successful = callCounter(meterRegistry, "successful");
+    this.failed = callCounter(meterRegistry, "failed");
+    this.slow = callCounter(meterRegistry, "slow");
+    this.timedOut = callCounter(meterRegistry, "timeout");
+    this.notPermitted = callCounter(meterRegistry, "not_permitted");
+    for (State candidate : State.values()) {
+      Gauge.builder("circuit.breaker.state", this, breaker -> breaker.state() == candidate ? 1 : 0)
+          .description("1 for the current state of the circuit breaker, 0 otherwise")
+          .tag("name", name)
+          .tag("state", candidate.name().toLowerCase())
+          .register(meterRegistry);
+    }
+    Gauge.builder("circuit.breaker.timeout", this, breaker -> breaker.timeout().toMillis())
+        .description("Current adaptive call timeout")
+        .tag("name", name)
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+  }
+
+  private Counter callCounter(MeterRegistry meterRegistry, String kind) {
+    return Counter.builder("circuit.breaker.calls")
+        .description("Number of calls through the circuit breaker by result")
+        .tag("name", name)
+        .tag("kind", kind)
+        .register(meterRegistry);
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+
+  /** Returns the timeout applied to the next call. */
+  public synchronized Duration timeout() {
+    return Duration.ofNanos(timeoutNanos);
+  }
+
+  /** Returns the share of failed calls in the window, or 0 until enough calls are recorded. */
+  public synchronized double failureRate() {
+    return recorded < properties.minimumCalls() ? 0 : (double) failureCount / recorded;
+  }
+
+  /** Returns the share of slow calls in the window, or 0 until enough calls are recorded. */
+  public synchronized double slowCallRate() {
+    return recorded < properties.minimumCalls() ? 0 : (double) slowCount / recorded;
+  }
+
+  public <T> T execute(Supplier<T> call) {
+    if (!properties.enabled()) {
+      return call.get();
+    }
+
+    State permittedIn = acquirePermission();
+    long timeout = timeout().toNanos();
+    long start = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(call::get);
+    } catch (RejectedExecutionException e) {
+      releasePermission(permittedIn);
+      throw new CircuitBreakerException("Circuit breaker '" + name + "' is shut down", e);
+    }
+    try {
+      T result = future.get(timeout, TimeUnit.NANOSECONDS);
+      onResult(permittedIn, false, System.nanoTime() - start);
+      return result;
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      timedOut.increment();
+      onResult(permittedIn, true, System.nanoTime() - start);
+      throw new CircuitBreakerException(
+          "Call through circuit breaker '"
+              + name
+              + "' timed out after "
+              + TimeUnit.NANOSECONDS.toMillis(timeout)
+              + "ms",
+          e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      onResult(permittedIn, isFailure.test(cause), System.nanoTime() - start);
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      releasePermission(permittedIn);
+      Thread.currentThread().interrupt();
+      throw new CircuitBreakerException("Interrupted while waiting for a call", e);
+    }
+  }
+
+  /** Stops the threads of calls still running, without waiting for them. */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private synchronized State acquirePermission() {
+    if (state == State.OPEN) {
+      if (clock.millis() - openedAt < properties.openDuration().toMillis()) {
+        notPermitted.increment();
+        throw new CircuitBreakerException("Circuit breaker '" + name + "' is open");
+      }
+      state = State.HALF_OPEN;
+      probesStarted = 0;
+      probesSucceeded = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (probesStarted >= properties.halfOpenCalls()) {
+        notPermitted.increment();
+        throw new CircuitBreakerException("Circuit breaker '" + name + "' is half-open");
+      }
+      probesStarted++;
+    }
+    return state;
+  }
+
+  /** Gives back the permission of a call that ended without a result, such as a probe. */
+  private synchronized void releasePermission(State permittedIn) {
+    if (permittedIn == State.HALF_OPEN && state == State.HALF_OPEN) {
+      probesStarted--;
+    }
+  }
+
+  private synchronized void onResult(State permittedIn, boolean failure, long nanos) {
+    boolean slowCall = !failure && nanos > properties.slowCallDuration().toNanos();
+    (failure ? failed : slowCall ? slow : successful).increment();
+
+    if (permittedIn != state) {
+      // The breaker changed state while the call was running, the result no longer applies.
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      if (failure) {
+        open();
+      } else if (++probesSucceeded >= properties.halfOpenCalls()) {
+        close();
+      }
+      return;
+    }
+
+    record(failure, nanos);
+    if (recorded >= properties.minimumCalls()
+        && (failureRate() >= properties.failureRateThreshold()
+            || slowCallRate() >= properties.slowCallRateThreshold())) {
+      open();
+    }
+  }
+
+  private void record(boolean failure, long nanos) {
+    if (recorded == durations.length) {
+      failureCount -= failures[next] ? 1 : 0;
+      slowCount -= isSlow(next) ? 1 : 0;
+    } else {
+      recorded++;
+    }
+    durations[next] = nanos;
+    failures[next] = failure;
+    failureCount += failure ? 1 : 0;
+    slowCount += isSlow(next) ? 1 : 0;
+    next = (next + 1) % durations.length;
+    adaptTimeout();
+  }
+
+  private boolean isSlow(int slot) {
+    return !failures[slot] && durations[slot] > properties.slowCallDuration().toNanos();
+  }
+
+  private void adaptTimeout() {
+    long[] successes = new long[recorded];
+    int count = 0;
+    for (int slot = 0; slot < recorded; slot++) {
+      if (!failures[slot]) {
+        successes[count++] = durations[slot];
+      }
+    }
+    long max = properties.maxTimeout().toNanos();
+    if (count < properties.minimumCalls()) {
+      timeoutNanos = max;
+      return;
+    }
+    Arrays.sort(successes, 0, count);
+    long p99 = successes[(int) Math.ceil(count * 0.99) - 1];
+    long adapted = (long) (p99 * properties.timeoutMultiplier());
+    timeoutNanos = Math.clamp(adapted, properties.minTimeout().toNanos(), max);
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = clock.millis();
+  }
+
+  private void close() {
+    state = State.CLOSED;
+    next = 0;
+    recorded = 0;
+    failureCount = 0;
+    slowCount = 0;
+  }
+}
@@ -0,0 +1,22 @@
+package com.forexconverter.rate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+@Configuration
+public class CircuitBreakerConfig {
+
+  /**
+   * Breaker around single rate fetches from Swop. Client errors, such as an unknown pair, say
+   * nothing about the health of the upstream and are not counted as failures.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public CircuitBreaker swopCircuitBreaker(
+      CircuitBreakerProperties properties, Clock clock, MeterRegistry meterRegistry) {
+    return new CircuitBreaker(
+        "swop", properties, clock, e -> !(e instanceof HttpClientErrorException), meterRegistry);
+  }
+}
@@ -0,0 +1,17 @@
+package com.forexconverter.rate;
+
+/**
+ * Thrown by {@link CircuitBreaker} when a call is not permitted or does not complete in time.
+ *
+ * <p>No stack trace is captured, since an open circuit rejects every call.
+ */
+public class CircuitBreakerException extends RuntimeException {
+
+  public CircuitBreakerException(String message) {
+    super(message, null, false, false);
+  }
+
+  public CircuitBreakerException(String message, Throwable cause) {
+    super(message, cause, false, false);
+  }
+}
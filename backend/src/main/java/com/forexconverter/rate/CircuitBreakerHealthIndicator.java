@@ -0,0 +1,37 @@
+package com.forexconverter.rate;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the state of the Swop {@link CircuitBreaker}.
+ *
+ * <p>The indicator stays {@code UP} while the breaker is open, since cached rates are still served,
+ * and marks the component as degraded instead.
+ */
+@Component
+public class CircuitBreakerHealthIndicator implements HealthIndicator {
+
+  private final CircuitBreaker circuitBreaker;
+
+  public CircuitBreakerHealthIndicator(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  @Override
+  public Health health() {
+    CircuitBreaker.State state = circuitBreaker.state();
+    Health.Builder builder =
+        Health.up()
+            .withDetail("name", circuitBreaker.name())
+            .withDetail("state", state)
+            .withDetail("failureRate", circuitBreaker.failureRate())
+            .withDetail("slowCallRate", circuitBreaker.slowCallRate())
+            .withDetail("timeout", circuitBreaker.timeout().toMillis() + "ms");
+    if (state != CircuitBreaker.State.CLOSED) {
+      builder.withDetail("degraded", true);
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,143 @@
+package com.forexconverter.rate;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "forex.circuit-breaker")
+public class CircuitBreakerProperties {
+
+  /** Whether calls go through the breaker at all. */
+  private boolean enabled = true;
+
+  /** Number of most recent calls the failure and slow-call rates are computed over. */
+  @Min(1)
+  private int windowSize = 50;
+
+  /** Calls recorded before the breaker may open or adapt its timeout. */
+  @Min(1)
+  private int minimumCalls = 10;
+
+  /** Share of failed calls in the window that opens the breaker. */
+  @DecimalMin("0.0")
+  @DecimalMax("1.0")
+  private double failureRateThreshold = 0.5;
+
+  /** Duration above which a successful call counts as slow. */
+  @NotNull private Duration slowCallDuration = Duration.ofMillis(500);
+
+  /** Share of slow calls in the window that opens the breaker. */
+  @DecimalMin("0.0")
+  @DecimalMax("1.0")
+  private double slowCallRateThreshold = 0.8;
+
+  /** Time the breaker stays open before letting probe calls through. */
+  @NotNull private Duration openDuration = Duration.ofSeconds(10);
+
+  /** Probe calls that have to succeed in a row to close the breaker again. */
+  @Min(1)
+  private int halfOpenCalls = 3;
+
+  /** Factor applied to the observed p99 latency to get the call timeout. */
+  @DecimalMin("1.0")
+  private double timeoutMultiplier = 3.0;
+
+  /** Lower bound of the adaptive call timeout. */
+  @NotNull private Duration minTimeout = Duration.ofMillis(100);
+
+  /** Upper bound of the adaptive call timeout, used until enough calls are recorded. */
+  @NotNull private Duration maxTimeout = Duration.ofMillis(1000);
+
+  public boolean enabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int windowSize() {
+    return windowSize;
+  }
+
+  public void setWindowSize(int windowSize) {
+    this.windowSize = windowSize;
+  }
+
+  public int minimumCalls() {
+    return minimumCalls;
+  }
+
+  public void setMinimumCalls(int minimumCalls) {
+    this.minimumCalls = minimumCalls;
+  }
+
+  public double failureRateThreshold() {
+    return failureRateThreshold;
+  }
+
+  public void setFailureRateThreshold(double failureRateThreshold) {
+    this.failureRateThreshold = failureRateThreshold;
+  }
+
+  public Duration slowCallDuration() {
+    return slowCallDuration;
+  }
+
+  public void setSlowCallDuration(Duration slowCallDuration) {
+    this.slowCallDuration = slowCallDuration;
+  }
+
+  public double slowCallRateThreshold() {
+    return slowCallRateThreshold;
+  }
+
+  public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+    this.slowCallRateThreshold = slowCallRateThreshold;
+  }
+
+  public Duration openDuration() {
+    return openDuration;
+  }
+
+  public void setOpenDuration(Duration openDuration) {
+    this.openDuration = openDuration;
+  }
+
+  public int halfOpenCalls() {
+    return halfOpenCalls;
+  }
+
+  public void setHalfOpenCalls(int halfOpenCalls) {
+    this.halfOpenCalls = halfOpenCalls;
+  }
+
+  public double timeoutMultiplier() {
+    return timeoutMultiplier;
+  }
+
+  public void setTimeoutMultiplier(double timeoutMultiplier) {
+    this.timeoutMultiplier = timeoutMultiplier;
+  }
+
+  public Duration minTimeout() {
+    return minTimeout;
+  }
+
+  public void setMinTimeout(Duration minTimeout) {
+    this.minTimeout = minTimeout;
+  }
+
+  public Duration maxTimeout() {
+    return maxTimeout;
+  }
+
+  public void setMaxTimeout(Duration maxTimeout) {
+    this.maxTimeout = maxTimeout;
+  }
+}
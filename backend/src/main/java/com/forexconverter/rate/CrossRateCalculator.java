@@ -0,0 +1,108 @@
+package com.forexconverter.rate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.springframework.stereotype.Component;
+
+/**
+ * Derives cross-rates from rates quoted against a single base currency.
+ *
+ * <p>With base {@code B}, the rate {@code X -> Y} is {@code (B -> Y) / (B -> X)} and {@code X -> B}
+ * is {@code 1 / (B -> X)}. Derived rates are rounded to the configured precision.
+ */
+@Component
+public class CrossRateCalculator {
+
+  private final boolean enabled;
+  private final boolean precompute;
+  private final Currency base;
+  private final MathContext mathContext;
+
+  public CrossRateCalculator(TriangulationProperties properties) {
+    this.enabled = properties.enabled();
+    this.precompute = properties.precompute();
+    this.base = Currency.getInstance(properties.baseCurrency());
+    this.mathContext = new MathContext(properties.precision(), properties.roundingMode());
+  }
+
+  /**
+   * Derives the quote for a pair from base quotes looked up with {@code baseQuotes}.
+   *
+   * <p>The derived quote carries the older date and fetch time of the quotes it was derived from,
+   * so it never outlives them.
+   *
+   * @return the derived quote, or {@code null} if a base quote is missing or not positive, or the
+   *     pair is quoted directly by the base currency
+   */
+  public Quote derive(
+      Currency from, Currency to, BiFunction<Currency, Currency, Quote> baseQuotes) {
+    if (!enabled || from.equals(to) || from.equals(base)) {
+      return null;
+    }
+
+    Quote fromQuote = baseQuotes.apply(base, from);
+    if (fromQuote == null || fromQuote.rate().signum() <= 0) {
+      return null;
+    }
+    if (to.equals(base)) {
+      return new Quote(
+          CurrencyPair.of(from, to),
+          BigDecimal.ONE.divide(fromQuote.rate(), mathContext),
+          fromQuote.date(),
+          fromQuote.fetchedAt());
+    }
+
+    Quote toQuote = baseQuotes.apply(base, to);
+    if (toQuote == null || toQuote.rate().signum() <= 0) {
+      return null;
+    }
+    return cross(fromQuote, toQuote);
+  }
+
+  /**
+   * Derives every cross-rate between the currencies quoted by the base currency in {@code quotes}.
+   *
+   * @return the derived quotes, empty when precomputation is disabled
+   */
+  public List<Quote> crossRates(Collection<Quote> quotes) {
+    if (!enabled || !precompute) {
+      return List.of();
+    }
+
+    List<Quote> baseQuotes =
+        quotes.stream()
+            .filter(quote -> quote.pair().from().equals(base))
+            .filter(quote -> !quote.pair().to().equals(base) && quote.rate().signum() > 0)
+            .toList();
+
+    List<Quote> crossRates = new ArrayList<>(baseQuotes.size() * baseQuotes.size());
+    for (Quote fromQuote : baseQuotes) {
+      Currency from = fromQuote.pair().to();
+      crossRates.add(
+          new Quote(
+              CurrencyPair.of(from, base),
+              BigDecimal.ONE.divide(fromQuote.rate(), mathContext),
+              fromQuote.date(),
+              fromQuote.fetchedAt()));
+      for (Quote toQuote : baseQuotes) {
+        if (!from.equals(toQuote.pair().to())) {
+          crossRates.add(cross(fromQuote, toQuote));
+        }
+      }
+    }
+    return crossRates;
+  }
+
+  private Quote cross(Quote fromQuote, Quote toQuote) {
+    return new Quote(
+        CurrencyPair.of(fromQuote.pair().to(), toQuote.pair().to()),
+        toQuote.rate().divide(fromQuote.rate(), mathContext),
+        fromQuote.date().isBefore(toQuote.date()) ? fromQuote.date() : toQuote.date(),
+        Math.min(fromQuote.fetchedAt(), toQuote.fetchedAt()));
+  }
+}
@@ -0,0 +1,98 @@
+package com.forexconverter.rate;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Dense ordinal assignment for every ISO 4217 currency known to the JDK.
+ *
+ * <p>Ordinals are resolved from the three letters of the currency code through a lookup table, so
+ * translating a {@link Currency} to its ordinal neither hashes nor allocates. The index also
+ * interns one {@link CurrencyPair} per pair of known currencies, created on first use.
+ */
+public final class CurrencyIndex {
+
+  private static final int LETTERS = 26;
+  private static final short UNKNOWN = -1;
+
+  private static final short[] ORDINALS = new short[LETTERS * LETTERS * LETTERS];
+  private static final Currency[] CURRENCIES;
+  private static final AtomicReferenceArray<CurrencyPair> PAIRS;
+
+  static final int SIZE;
+
+  static {
+    List<Currency> currencies =
+        Currency.getAvailableCurrencies().stream()
+            .sorted(Comparator.comparing(Currency::getCurrencyCode))
+            .toList();
+
+    Arrays.fill(ORDINALS, UNKNOWN);
+    CURRENCIES = currencies.toArray(Currency[]::new);
+    SIZE = CURRENCIES.length;
+    for (short ordinal = 0; ordinal < SIZE; ordinal++) {
+      ORDINALS[slot(CURRENCIES[ordinal].getCurrencyCode(), 0)] = ordinal;
+    }
+    PAIRS = new AtomicReferenceArray<>(SIZE * SIZE);
+  }
+
+  private CurrencyIndex() {}
+
+  /** Returns the ordinal of the currency, or {@code -1} if it is not known to the JDK. */
+  static int of(Currency currency) {
+    return of(currency.getCurrencyCode());
+  }
+
+  /** Returns the ordinal of a three letter code in any case, or {@code -1} if it is unknown. */
+  static int of(CharSequence code) {
+    return code.length() == 3 ? of(code, 0) : UNKNOWN;
+  }
+
+  /** Returns the ordinal of the three letter code starting at the given index of the value. */
+  static int of(CharSequence value, int start) {
+    int slot = slot(value, start);
+    return slot < 0 ? UNKNOWN : ORDINALS[slot];
+  }
+
+  /**
+   * Returns the currency of a three letter code in any case, or {@code null} if it is unknown.
+   * Unlike {@link Currency#getInstance(String)}, an unknown code costs no exception.
+   */
+  public static Currency parse(CharSequence code) {
+    int ordinal = of(code);
+    return ordinal < 0 ? null : CURRENCIES[ordinal];
+  }
+
+  static Currency currency(int ordinal) {
+    return CURRENCIES[ordinal];
+  }
+
+  /** Returns the interned pair of two ordinals. */
+  static CurrencyPair pair(int from, int to) {
+    int cell = from * SIZE + to;
+    CurrencyPair pair = PAIRS.get(cell);
+    if (pair == null) {
+      pair = new CurrencyPair(CURRENCIES[from], CURRENCIES[to]);
+      if (!PAIRS.compareAndSet(cell, null, pair)) {
+        pair = PAIRS.get(cell);
+      }
+    }
+    return pair;
+  }
+
+  private static int slot(CharSequence value, int start) {
+    int slot = 0;
+    for (int i = start; i < start + 3; i++) {
+      // Folds lower case letters onto upper case ones.
+      int letter = (value.charAt(i) | 0x20) - 'a';
+      if (letter < 0 || letter >= LETTERS) {
+        return -1;
+      }
+      slot = slot * LETTERS + letter;
+    }
+    return slot;
+  }
+}
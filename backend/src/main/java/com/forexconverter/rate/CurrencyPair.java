@@ -0,0 +1,39 @@
+package com.forexconverter.rate;
+
+import java.util.Currency;
+
+public record CurrencyPair(Currency from, Currency to) {
+
+  private static final int CODE_LENGTH = 3;
+  private static final char SEPARATOR = '-';
+
+  /**
+   * Returns the pair of two currencies. Pairs of currencies known to the JDK are interned, so
+   * repeated lookups of a pair share one key and allocate nothing.
+   */
+  public static CurrencyPair of(Currency from, Currency to) {
+    int fromOrdinal = CurrencyIndex.of(from);
+    int toOrdinal = CurrencyIndex.of(to);
+    if (fromOrdinal < 0 || toOrdinal < 0) {
+      return new CurrencyPair(from, to);
+    }
+    return CurrencyIndex.pair(fromOrdinal, toOrdinal);
+  }
+
+  /**
+   * Parses a pair written as {@code FROM-TO}, in any case, into its interned pair.
+   *
+   * @return the pair, or {@code null} if the value is malformed or names an unknown currency
+   */
+  public static CurrencyPair parse(CharSequence value) {
+    if (value.length() != 2 * CODE_LENGTH + 1 || value.charAt(CODE_LENGTH) != SEPARATOR) {
+      return null;
+    }
+    int from = CurrencyIndex.of(value, 0);
+    int to = CurrencyIndex.of(value, CODE_LENGTH + 1);
+    if (from < 0 || to < 0) {
+      return null;
+    }
+    return CurrencyIndex.pair(from, to);
+  }
+}
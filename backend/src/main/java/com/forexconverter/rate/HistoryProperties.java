@@ -0,0 +1,61 @@
+package com.forexconverter.rate;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.nio.file.Path;
+import java.time.Period;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "forex.history")
+public class HistoryProperties {
+
+  /** Whether every bulk load is recorded in the history, see {@link HistoryRecorder}. */
+  private boolean enabled = true;
+
+  /** Directory holding one {@link RateHistory} file per rate date. */
+  @NotNull private Path path = Path.of("data", "history");
+
+  /**
+   * How far a lookup goes back from the requested date to the latest recorded one, covering
+   * weekends and holidays without published rates.
+   */
+  @NotNull private Period lookback = Period.ofDays(7);
+
+  /** Number of day files kept mapped at once. */
+  @Min(1)
+  private int maxOpenFiles = 32;
+
+  public boolean enabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Path path() {
+    return path;
+  }
+
+  public void setPath(Path path) {
+    this.path = path;
+  }
+
+  public Period lookback() {
+    return lookback;
+  }
+
+  public void setLookback(Period lookback) {
+    this.lookback = lookback;
+  }
+
+  public int maxOpenFiles() {
+    return maxOpenFiles;
+  }
+
+  public void setMaxOpenFiles(int maxOpenFiles) {
+    this.maxOpenFiles = maxOpenFiles;
+  }
+}
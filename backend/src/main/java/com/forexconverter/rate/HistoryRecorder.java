@@ -0,0 +1,35 @@
+package com.forexconverter.rate;
+
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the rates of every bulk load, such as the daily {@link WarmupRunner#refreshCache()}, in
+ * the {@link RateHistory}.
+ */
+@Component
+@ConditionalOnProperty(name = "forex.history.enabled", havingValue = "true", matchIfMissing = true)
+public class HistoryRecorder {
+
+  private static final Logger log = LoggerFactory.getLogger(HistoryRecorder.class);
+
+  private final RateHistory history;
+
+  public HistoryRecorder(RateHistory history) {
+    this.history = history;
+  }
+
+  @EventListener
+  public void onRatesRefreshed(RatesRefreshedEvent event) {
+    try {
+      history.record(event.quotes());
+      log.info("Recorded {} rates in the rate history", event.quotes().size());
+    } catch (IOException e) {
+      log.warn("Failed to record rate history: {}", e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.forexconverter.rate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how often a recurring event is logged.
+ *
+ * <p>The first {@code burst} events of every interval are logged. Past that, one event in {@code
+ * sampleRate} is logged, so that a flood stays visible in the logs without dominating the cost of
+ * handling it. Every logged event reports how many were skipped since the previous one.
+ */
+public class LogLimiter {
+
+  /** Returned by {@link #tryAcquire()} for an event that must not be logged. */
+  public static final long SKIP = -1;
+
+  private final int burst;
+  private final int sampleRate;
+  private final long intervalMillis;
+  private final Clock clock;
+  private final AtomicLong windowStart;
+  private final AtomicInteger events = new AtomicInteger();
+  private final AtomicLong skipped = new AtomicLong();
+
+  public LogLimiter(int burst, int sampleRate, Duration interval, Clock clock) {
+    if (burst < 0 || sampleRate < 1) {
+      throw new IllegalArgumentException("Burst must not be negative and sample rate positive");
+    }
+    this.burst = burst;
+    this.sampleRate = sampleRate;
+    this.intervalMillis = interval.toMillis();
+    this.clock = clock;
+    this.windowStart = new AtomicLong(clock.millis());
+  }
+
+  /**
+   * Counts an event.
+   *
+   * @return the number of events skipped since the last logged one if this event is to be logged,
+   *     or {@link #SKIP}
+   */
+  public long tryAcquire() {
+    long now = clock.millis();
+    long start = windowStart.get();
+    if (now - start >= intervalMillis && windowStart.compareAndSet(start, now)) {
+      events.set(0);
+    }
+    int event = events.incrementAndGet();
+    if (event > burst && (event - burst) % sampleRate != 0) {
+      skipped.incrementAndGet();
+      return SKIP;
+    }
+    return skipped.getAndSet(0);
+  }
+}
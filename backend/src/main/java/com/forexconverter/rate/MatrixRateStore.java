@@ -0,0 +1,79 @@
+package com.forexconverter.rate;
+
+import java.util.Collection;
+import java.util.Currency;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link RateStore} holding quotes in a dense matrix indexed by {@link CurrencyIndex} ordinals.
+ *
+ * <p>A lookup is two table reads and an array read, without building a key or allocating. Bulk
+ * loads build a new matrix and swap it in atomically, so readers see either all or none of a batch.
+ * Writes are serialized, so that a single quote stored while a bulk load copies the matrix is not
+ * lost when the copy is swapped in. Reads never lock.
+ */
+public class MatrixRateStore implements RateStore {
+
+  private static final int CELLS = CurrencyIndex.SIZE * CurrencyIndex.SIZE;
+
+  private final AtomicReference<AtomicReferenceArray<Quote>> quotes =
+      new AtomicReference<>(new AtomicReferenceArray<>(CELLS));
+
+  @Override
+  public Quote get(Currency from, Currency to) {
+    int cell = cell(from, to);
+    return cell < 0 ? null : quotes.get().get(cell);
+  }
+
+  @Override
+  public synchronized void put(Quote quote) {
+    int cell = cell(quote.pair().from(), quote.pair().to());
+    if (cell >= 0) {
+      quotes.get().set(cell, quote);
+    }
+  }
+
+  @Override
+  public synchronized void update(Collection<Quote> batch, Collection<CurrencyPair> removed) {
+    AtomicReferenceArray<Quote> current = quotes.get();
+    AtomicReferenceArray<Quote> next = new AtomicReferenceArray<>(CELLS);
+    for (int cell = 0; cell < CELLS; cell++) {
+      next.setPlain(cell, current.get(cell));
+    }
+    for (Quote quote : batch) {
+      int cell = cell(quote.pair().from(), quote.pair().to());
+      if (cell >= 0) {
+        next.setPlain(cell, quote);
+      }
+    }
+    for (CurrencyPair pair : removed) {
+      int cell = cell(pair.from(), pair.to());
+      if (cell >= 0) {
+        next.setPlain(cell, null);
+      }
+    }
+    quotes.set(next);
+  }
+
+  @Override
+  public long size() {
+    AtomicReferenceArray<Quote> current = quotes.get();
+    long size = 0;
+    for (int cell = 0; cell < CELLS; cell++) {
+      if (current.getPlain(cell) != null) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  private static int cell(Currency from, Currency to) {
+    int fromOrdinal = CurrencyIndex.of(from);
+    int toOrdinal = CurrencyIndex.of(to);
+    if (fromOrdinal < 0 || toOrdinal < 0) {
+      return -1;
+    }
+    return fromOrdinal * CurrencyIndex.SIZE + toOrdinal;
+  }
+}
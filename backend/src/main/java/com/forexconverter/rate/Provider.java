@@ -5,4 +5,27 @@ import java.util.Currency;
 
 public interface Provider {
   BigDecimal getRate(Currency from, Currency to);
+
+  /**
+   * Returns the rate together with its date and whether it is stale.
+   *
+   * <p>Providers that do not track either return a fresh, undated quote of {@link #getRate}.
+   */
+  default Quote getQuote(Currency from, Currency to) {
+    return new Quote(CurrencyPair.of(from, to), getRate(from, to), null, 0);
+  }
+
+  /**
+   * Looks up the quote, returning expected failures instead of throwing them.
+   *
+   * <p>Providers that only throw return the failure of the exception thrown by {@link #getQuote}.
+   * Unexpected exceptions are still thrown.
+   */
+  default RateResult lookup(Currency from, Currency to) {
+    try {
+      return getQuote(from, to);
+    } catch (ProviderRateNotFoundException | ProviderException e) {
+      return RateFailure.of(e);
+    }
+  }
 }
@@ -1,12 +1,19 @@
 package com.forexconverter.rate;
 
+/**
+ * Thrown when the rate provider cannot be reached or fails.
+ *
+ * <p>No stack trace is captured: the exception is an expected outcome thrown from a few known
+ * places, and filling in the stack would dominate its cost during an outage. A wrapped cause keeps
+ * its own stack trace.
+ */
 public class ProviderException extends RuntimeException {
 
   public ProviderException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 
   public ProviderException(String message, Throwable cause) {
-    super(message, cause);
+    super(message, cause, false, false);
   }
 }
@@ -1,11 +1,16 @@
 package com.forexconverter.rate;
 
+/**
+ * Thrown when the rate provider does not know the requested pair.
+ *
+ * <p>No stack trace is captured, since unknown pairs are an expected outcome.
+ */
 public class ProviderRateNotFoundException extends RuntimeException {
   public ProviderRateNotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 
   public ProviderRateNotFoundException(String message, Throwable cause) {
-    super(message, cause);
+    super(message, cause, false, false);
   }
 }
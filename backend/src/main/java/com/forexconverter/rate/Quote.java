@@ -0,0 +1,55 @@
+package com.forexconverter.rate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A stored exchange rate.
+ *
+ * @param date the date the provider published the rate for, {@code null} if unknown
+ * @param fetchedAt epoch millis at which the rate was fetched, used for expiry
+ * @param stale whether the quote is served past its hard TTL because the provider failed
+ * @param unscaledRate the unscaled value of {@code rate}, kept for fixed-point arithmetic, or
+ *     {@link #NOT_COMPACT} when it needs more than 18 digits
+ */
+public record Quote(
+    CurrencyPair pair,
+    BigDecimal rate,
+    LocalDate date,
+    long fetchedAt,
+    boolean stale,
+    long unscaledRate)
+    implements RateResult {
+
+  /** Marks an {@code unscaledRate} that does not fit a {@code long}. */
+  public static final long NOT_COMPACT = Long.MIN_VALUE;
+
+  public Quote(CurrencyPair pair, BigDecimal rate, LocalDate date, long fetchedAt, boolean stale) {
+    this(pair, rate, date, fetchedAt, stale, unscaled(rate));
+  }
+
+  public Quote(CurrencyPair pair, BigDecimal rate, LocalDate date, long fetchedAt) {
+    this(pair, rate, date, fetchedAt, false);
+  }
+
+  @Override
+  public Quote orElseThrow() {
+    return this;
+  }
+
+  /** Returns this quote marked as served past its hard TTL. */
+  public Quote asStale() {
+    return new Quote(pair, rate, date, fetchedAt, true, unscaledRate);
+  }
+
+  /**
+   * Returns the unscaled value of {@code value}, or {@link #NOT_COMPACT} if it needs more than 18
+   * digits.
+   */
+  public static long unscaled(BigDecimal value) {
+    if (value == null || value.precision() > 18) {
+      return NOT_COMPACT;
+    }
+    return value.unscaledValue().longValueExact();
+  }
+}
@@ -0,0 +1,91 @@
+package com.forexconverter.rate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether the rate cache is warm, for the {@code readiness} health group.
+ *
+ * <p>The cache is warm once rates were loaded from the provider, or restored from a snapshot with
+ * some of them within the hard TTL. Restored rates past it are only served when the provider fails,
+ * so they do not make the cache warm. Until the startup warmup has completed, the indicator is
+ * {@code OUT_OF_SERVICE}. If it failed without any rates to serve, the indicator is {@code UP}
+ * marked as degraded, or stays {@code OUT_OF_SERVICE} when {@code
+ * forex.cache.warmup.start-degraded} is disabled.
+ */
+@Component
+public class RateCacheHealthIndicator implements HealthIndicator {
+
+  private enum State {
+    WARMING_UP,
+    WARM,
+    FAILED
+  }
+
+  private final boolean warmupEnabled;
+  private final boolean startDegraded;
+
+  private volatile State state = State.WARMING_UP;
+  private volatile int pairs;
+  private volatile LocalDate ratesDate;
+  private volatile LocalDate snapshotDate;
+
+  public RateCacheHealthIndicator(CacheProperties properties) {
+    this.warmupEnabled = properties.warmup().enabled();
+    this.startDegraded = properties.warmup().startDegraded();
+  }
+
+  @EventListener
+  public void onRatesRestored(RatesRestoredEvent event) {
+    snapshotDate = latestDate(event.quotes());
+    if (event.servable() > 0) {
+      warm(event.servable(), snapshotDate);
+    }
+  }
+
+  @EventListener
+  public void onRatesRefreshed(RatesRefreshedEvent event) {
+    warm(event.pairs(), latestDate(event.quotes()));
+  }
+
+  @EventListener
+  public void onRatesRefreshFailed(RatesRefreshFailedEvent event) {
+    if (state != State.WARM) {
+      state = State.FAILED;
+    }
+  }
+
+  @Override
+  public Health health() {
+    Health.Builder builder =
+        switch (state) {
+          case WARM -> Health.up();
+          case WARMING_UP -> warmupEnabled ? Health.outOfService() : Health.up();
+          case FAILED ->
+              startDegraded ? Health.up().withDetail("degraded", true) : Health.outOfService();
+        };
+    builder.withDetail("pairs", pairs);
+    if (ratesDate != null) {
+      builder.withDetail("ratesDate", ratesDate);
+    }
+    if (snapshotDate != null) {
+      builder.withDetail("snapshotDate", snapshotDate);
+    }
+    return builder.build();
+  }
+
+  private void warm(int pairs, LocalDate ratesDate) {
+    this.pairs = pairs;
+    this.ratesDate = ratesDate;
+    this.state = State.WARM;
+  }
+
+  private static LocalDate latestDate(Collection<Quote> quotes) {
+    return quotes.stream().map(Quote::date).max(Comparator.naturalOrder()).orElse(null);
+  }
+}
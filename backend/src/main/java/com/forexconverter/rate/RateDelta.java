@@ -0,0 +1,60 @@
+package com.forexconverter.rate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Difference between the quotes of a bulk load and the ones it replaces.
+ *
+ * @param added quotes of pairs that had no quote
+ * @param changed quotes whose rate or date differs from the one they replace
+ * @param removed pairs of the previous bulk load missing from this one
+ * @param unchanged number of quotes with the same rate and date as the one they replace
+ */
+public record RateDelta(
+    List<Quote> added, List<Quote> changed, List<CurrencyPair> removed, int unchanged) {
+
+  /**
+   * Compares {@code quotes}, at most one per pair, with the quotes in {@code store}, and their
+   * pairs with {@code previousPairs}, the pairs of the previous bulk load.
+   */
+  static RateDelta between(
+      RateStore store, Collection<Quote> quotes, Set<CurrencyPair> previousPairs) {
+    List<Quote> added = new ArrayList<>();
+    List<Quote> changed = new ArrayList<>();
+    Set<CurrencyPair> loaded = new HashSet<>();
+    int unchanged = 0;
+    for (Quote quote : quotes) {
+      loaded.add(quote.pair());
+      Quote previous = store.get(quote.pair().from(), quote.pair().to());
+      if (previous == null) {
+        added.add(quote);
+      } else if (sameRate(previous, quote)) {
+        unchanged++;
+      } else {
+        changed.add(quote);
+      }
+    }
+
+    List<CurrencyPair> removed = new ArrayList<>();
+    for (CurrencyPair pair : previousPairs) {
+      if (!loaded.contains(pair)) {
+        removed.add(pair);
+      }
+    }
+    return new RateDelta(List.copyOf(added), List.copyOf(changed), List.copyOf(removed), unchanged);
+  }
+
+  /** Returns whether both quotes have the same rate and date, ignoring when they were fetched. */
+  static boolean sameRate(Quote a, Quote b) {
+    return a.rate().compareTo(b.rate()) == 0 && Objects.equals(a.date(), b.date());
+  }
+
+  public boolean isEmpty() {
+    return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+  }
+}
@@ -0,0 +1,53 @@
+package com.forexconverter.rate;
+
+/**
+ * An expected failure to look up a rate, with the message served to the client.
+ *
+ * @param thrown the exception the failure was caught as, rethrown by {@link #orElseThrow()} so that
+ *     its cause is kept, or {@code null}
+ */
+public record RateFailure(Reason reason, String message, RuntimeException thrown)
+    implements RateResult {
+
+  public enum Reason {
+    /** The provider does not know the pair. */
+    NOT_FOUND,
+    /** The provider could not be reached or failed. */
+    UNAVAILABLE
+  }
+
+  public static RateFailure notFound(String message) {
+    return new RateFailure(Reason.NOT_FOUND, message, null);
+  }
+
+  public static RateFailure unavailable(String message) {
+    return new RateFailure(Reason.UNAVAILABLE, message, null);
+  }
+
+  /** Returns the failure signalled by a provider exception, or {@code null} if it is unexpected. */
+  public static RateFailure of(RuntimeException e) {
+    if (e instanceof ProviderRateNotFoundException) {
+      return new RateFailure(Reason.NOT_FOUND, e.getMessage(), e);
+    }
+    if (e instanceof ProviderException) {
+      return new RateFailure(Reason.UNAVAILABLE, e.getMessage(), e);
+    }
+    return null;
+  }
+
+  /** Returns the exception that signals this failure to callers that throw. */
+  public RuntimeException exception() {
+    if (thrown != null) {
+      return thrown;
+    }
+    return switch (reason) {
+      case NOT_FOUND -> new ProviderRateNotFoundException(message);
+      case UNAVAILABLE -> new ProviderException(message);
+    };
+  }
+
+  @Override
+  public Quote orElseThrow() {
+    throw exception();
+  }
+}
@@ -0,0 +1,338 @@
+package com.forexconverter.rate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time-indexed store of the rates loaded from the provider, one columnar file per rate date.
+ *
+ * <p>A day file is a header ({@code magic}, {@code version}, epoch day, quote count) followed by
+ * three columns and a CRC32C of everything before it. The pair column holds both currency codes
+ * packed into an {@code int} and is sorted, so a lookup is a binary search in place:
+ *
+ * <pre>
+ * pair:int[count] scale:byte[count] unscaled:long[count]
+ * </pre>
+ *
+ * <p>Days are only ever added. Recording a day that already exists merges the new quotes into it
+ * and replaces the file atomically, one recording at a time. Files are read through a memory
+ * mapping, and at most {@code maxOpenFiles} of them are mapped at once, so memory use does not grow
+ * with the history.
+ *
+ * <p>Pairs that are not recorded are derived from the recorded base quotes of the same day with the
+ * {@link CrossRateCalculator}.
+ */
+@Component
+public class RateHistory {
+
+  private static final Logger log = LoggerFactory.getLogger(RateHistory.class);
+
+  private static final int MAGIC = 0x46585248;
+  private static final short VERSION = 1;
+  private static final int HEADER_SIZE =
+      Integer.BYTES + Short.BYTES + Integer.BYTES + Integer.BYTES;
+  private static final int RECORD_SIZE = Integer.BYTES + 1 + Long.BYTES;
+  private static final int LETTERS = 26;
+  private static final int CODES = LETTERS * LETTERS * LETTERS;
+  private static final String SUFFIX = ".rates";
+
+  private final Path directory;
+  private final Period lookback;
+  private final CrossRateCalculator crossRates;
+
+  // Guarded by days. Holds Optional.empty() for days without a file. The generation counts the
+  // invalidations, so that a day read while its file was replaced is not cached.
+  private final Map<LocalDate, Optional<Day>> days;
+  private long generation;
+
+  public RateHistory(HistoryProperties properties, CrossRateCalculator crossRates) {
+    this.directory = properties.path();
+    this.lookback = properties.lookback();
+    this.crossRates = crossRates;
+    int maxOpenFiles = properties.maxOpenFiles();
+    this.days =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<LocalDate, Optional<Day>> eldest) {
+            return size() > maxOpenFiles;
+          }
+        };
+  }
+
+  /**
+   * Records quotes under their rate date. Quotes without a date, or with a rate that does not fit
+   * an unscaled {@code long} and a {@code byte} scale, are skipped.
+   *
+   * <p>Recordings are serialized, so that overlapping refreshes merging into the same day do not
+   * drop each other's quotes. Lookups are not blocked meanwhile.
+   */
+  public synchronized void record(Collection<Quote> quotes) throws IOException {
+    Map<LocalDate, List<Quote>> byDate = new TreeMap<>();
+    for (Quote quote : quotes) {
+      if (quote.date() == null
+          || quote.unscaledRate() == Quote.NOT_COMPACT
+          || quote.rate().scale() != (byte) quote.rate().scale()) {
+        log.debug("Not recording rate {} in the history", quote);
+        continue;
+      }
+      byDate.computeIfAbsent(quote.date(), date -> new ArrayList<>()).add(quote);
+    }
+
+    for (Map.Entry<LocalDate, List<Quote>> entry : byDate.entrySet()) {
+      LocalDate date = entry.getKey();
+      Map<Integer, Quote> merged = new TreeMap<>();
+      Optional<Day> existing = day(date);
+      if (existing.isPresent()) {
+        for (Quote quote : existing.get().quotes()) {
+          merged.put(key(quote.pair().from(), quote.pair().to()), quote);
+        }
+      }
+      for (Quote quote : entry.getValue()) {
+        merged.put(key(quote.pair().from(), quote.pair().to()), quote);
+      }
+      write(date, merged);
+      synchronized (days) {
+        days.remove(date);
+        generation++;
+      }
+    }
+  }
+
+  /** Returns a provider serving the rates in effect on {@code date}. */
+  public Provider at(LocalDate date) {
+    return new Provider() {
+      @Override
+      public BigDecimal getRate(Currency from, Currency to) {
+        return getQuote(from, to).rate();
+      }
+
+      @Override
+      public Quote getQuote(Currency from, Currency to) {
+        return lookup(from, to).orElseThrow();
+      }
+
+      @Override
+      public RateResult lookup(Currency from, Currency to) {
+        Quote quote;
+        try {
+          quote = find(from, to, date);
+        } catch (ProviderException e) {
+          return RateFailure.of(e);
+        }
+        return quote != null ? quote : RateFailure.notFound("Rate not found");
+      }
+    };
+  }
+
+  /**
+   * Returns the quote of the latest recorded day on or before {@code date}, within the lookback.
+   *
+   * @return the recorded or derived quote, or {@code null} if there is none
+   */
+  public Quote find(Currency from, Currency to, LocalDate date) {
+    LocalDate earliest = date.minus(lookback);
+    for (LocalDate candidate = date;
+        !candidate.isBefore(earliest);
+        candidate = candidate.minusDays(1)) {
+      Optional<Day> day;
+      try {
+        day = day(candidate);
+      } catch (IOException e) {
+        log.warn("Failed to read rate history of {}: {}", candidate, e.getMessage());
+        throw new ProviderException("Rate history unavailable");
+      }
+      if (day.isPresent()) {
+        Day found = day.get();
+        Quote quote = found.find(from, to);
+        return quote != null ? quote : crossRates.derive(from, to, found::find);
+      }
+    }
+    return null;
+  }
+
+  private Optional<Day> day(LocalDate date) throws IOException {
+    long readGeneration;
+    synchronized (days) {
+      Optional<Day> day = days.get(date);
+      if (day != null) {
+        return day;
+      }
+      readGeneration = generation;
+    }
+
+    // Mapped and verified outside the lock, so that other days are served meanwhile.
+    Optional<Day> day = Optional.ofNullable(read(date));
+    synchronized (days) {
+      Optional<Day> cached = days.get(date);
+      if (cached != null) {
+        return cached;
+      }
+      if (generation == readGeneration) {
+        days.put(date, day);
+      }
+      return day;
+    }
+  }
+
+  private Path file(LocalDate date) {
+    return directory.resolve(date + SUFFIX);
+  }
+
+  private void write(LocalDate date, Map<Integer, Quote> quotes) throws IOException {
+    int count = quotes.size();
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * RECORD_SIZE + Integer.BYTES);
+    buffer.putInt(MAGIC).putShort(VERSION).putInt(Math.toIntExact(date.toEpochDay()));
+    buffer.putInt(count);
+    for (int key : quotes.keySet()) {
+      buffer.putInt(key);
+    }
+    for (Quote quote : quotes.values()) {
+      buffer.put((byte) quote.rate().scale());
+    }
+    for (Quote quote : quotes.values()) {
+      buffer.putLong(quote.unscaledRate());
+    }
+    buffer.putInt(checksum(buffer, buffer.position()));
+    buffer.flip();
+
+    Path path = file(date);
+    Files.createDirectories(directory);
+    Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(
+          temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private Day read(LocalDate date) throws IOException {
+    Path path = file(date);
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+
+    int end = buffer.limit() - Integer.BYTES;
+    if (end < HEADER_SIZE || buffer.getInt(end) != checksum(buffer, end)) {
+      throw new IOException("Rate history " + path + " is corrupt");
+    }
+    if (buffer.getInt(0) != MAGIC || buffer.getShort(Integer.BYTES) != VERSION) {
+      throw new IOException("Rate history " + path + " has an unsupported format");
+    }
+    int count = buffer.getInt(HEADER_SIZE - Integer.BYTES);
+    if (HEADER_SIZE + count * RECORD_SIZE != end) {
+      throw new IOException("Rate history " + path + " is corrupt");
+    }
+    return new Day(date, buffer, count);
+  }
+
+  /** Packs both currency codes into a key that sorts by source, then target currency. */
+  private static int key(Currency from, Currency to) {
+    return code(from) * CODES + code(to);
+  }
+
+  private static int code(Currency currency) {
+    String code = currency.getCurrencyCode();
+    return ((code.charAt(0) - 'A') * LETTERS + code.charAt(1) - 'A') * LETTERS
+        + code.charAt(2)
+        - 'A';
+  }
+
+  private static Currency currency(int code) {
+    char[] letters = {
+      (char) ('A' + code / (LETTERS * LETTERS)),
+      (char) ('A' + code / LETTERS % LETTERS),
+      (char) ('A' + code % LETTERS)
+    };
+    return Currency.getInstance(new String(letters));
+  }
+
+  private static int checksum(ByteBuffer buffer, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(0, length));
+    return (int) crc.getValue();
+  }
+
+  /** A mapped day file, read with absolute accessors only so it can be shared between threads. */
+  private static final class Day {
+
+    private final LocalDate date;
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int scales;
+    private final int unscaled;
+
+    Day(LocalDate date, ByteBuffer buffer, int count) {
+      this.date = date;
+      this.buffer = buffer;
+      this.count = count;
+      this.scales = HEADER_SIZE + count * Integer.BYTES;
+      this.unscaled = scales + count;
+    }
+
+    Quote find(Currency from, Currency to) {
+      int key = key(from, to);
+      int low = 0;
+      int high = count - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        int candidate = buffer.getInt(HEADER_SIZE + middle * Integer.BYTES);
+        if (candidate < key) {
+          low = middle + 1;
+        } else if (candidate > key) {
+          high = middle - 1;
+        } else {
+          return quote(CurrencyPair.of(from, to), middle);
+        }
+      }
+      return null;
+    }
+
+    List<Quote> quotes() {
+      List<Quote> quotes = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        int key = buffer.getInt(HEADER_SIZE + i * Integer.BYTES);
+        quotes.add(quote(CurrencyPair.of(currency(key / CODES), currency(key % CODES)), i));
+      }
+      return quotes;
+    }
+
+    private Quote quote(CurrencyPair pair, int index) {
+      BigDecimal rate =
+          BigDecimal.valueOf(
+              buffer.getLong(unscaled + index * Long.BYTES), buffer.get(scales + index));
+      return new Quote(pair, rate, date, 0);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.forexconverter.rate;
+
+/**
+ * Outcome of a rate lookup: the {@link Quote}, or the {@link RateFailure} that prevented it.
+ *
+ * <p>Expected failures are returned rather than thrown, so that a flood of lookups for unknown
+ * pairs or during an outage costs no exceptions.
+ */
+public sealed interface RateResult permits Quote, RateFailure {
+
+  /** Returns the quote, or throws the exception of the failure. */
+  Quote orElseThrow();
+}
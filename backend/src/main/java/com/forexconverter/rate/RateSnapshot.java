@@ -0,0 +1,142 @@
+package com.forexconverter.rate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot file of quotes.
+ *
+ * <p>The file is a header ({@code magic}, {@code version}, quote count) followed by one record per
+ * quote and a CRC32C of everything before it. A record is the two ISO 4217 codes, the rate as scale
+ * and unscaled bytes, the epoch day of the rate date and the fetch time:
+ *
+ * <pre>
+ * from:3 to:3 scale:int unscaledLength:byte unscaled:byte[] epochDay:int fetchedAt:long
+ * </pre>
+ *
+ * <p>Snapshots are written to a temporary file that is moved over the previous one, so a crash
+ * while writing never leaves a partial snapshot behind. They are read through a memory mapping.
+ */
+public class RateSnapshot {
+
+  private static final int MAGIC = 0x46585253;
+  private static final short VERSION = 1;
+  private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES;
+  private static final int MAX_RECORD_SIZE = 3 + 3 + Integer.BYTES + 1 + 255 + Integer.BYTES + 8;
+
+  private final Path path;
+
+  public RateSnapshot(Path path) {
+    this.path = path;
+  }
+
+  public Path path() {
+    return path;
+  }
+
+  /** Replaces the snapshot with {@code quotes}. */
+  public void write(Collection<Quote> quotes) throws IOException {
+    ByteBuffer buffer =
+        ByteBuffer.allocate(HEADER_SIZE + quotes.size() * MAX_RECORD_SIZE + Integer.BYTES);
+    buffer.putInt(MAGIC).putShort(VERSION).putInt(quotes.size());
+    for (Quote quote : quotes) {
+      byte[] unscaled = quote.rate().unscaledValue().toByteArray();
+      if (unscaled.length > 255) {
+        throw new IOException("Rate of " + quote.pair() + " is too large for a snapshot");
+      }
+      buffer.put(code(quote.pair().from())).put(code(quote.pair().to()));
+      buffer.putInt(quote.rate().scale()).put((byte) unscaled.length).put(unscaled);
+      buffer.putInt(Math.toIntExact(quote.date().toEpochDay())).putLong(quote.fetchedAt());
+    }
+    buffer.putInt(checksum(buffer, buffer.position()));
+    buffer.flip();
+
+    Path parent = path.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(
+          temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * Reads the quotes of the snapshot.
+   *
+   * @return the quotes, empty if there is no snapshot
+   * @throws IOException if the snapshot cannot be read or is corrupt
+   */
+  public List<Quote> read() throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (NoSuchFileException e) {
+      return List.of();
+    }
+
+    try {
+      int end = buffer.limit() - Integer.BYTES;
+      if (end < HEADER_SIZE || buffer.getInt(end) != checksum(buffer, end)) {
+        throw new IOException("Snapshot " + path + " is corrupt");
+      }
+      if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+        throw new IOException("Snapshot " + path + " has an unsupported format");
+      }
+
+      int count = buffer.getInt();
+      List<Quote> quotes = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        CurrencyPair pair = CurrencyPair.of(currency(buffer), currency(buffer));
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[Byte.toUnsignedInt(buffer.get())];
+        buffer.get(unscaled);
+        BigDecimal rate = new BigDecimal(new BigInteger(unscaled), scale);
+        LocalDate date = LocalDate.ofEpochDay(buffer.getInt());
+        quotes.add(new Quote(pair, rate, date, buffer.getLong()));
+      }
+      return quotes;
+    } catch (RuntimeException e) {
+      throw new IOException("Snapshot " + path + " is corrupt", e);
+    }
+  }
+
+  private static byte[] code(Currency currency) {
+    return currency.getCurrencyCode().getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static Currency currency(ByteBuffer buffer) {
+    byte[] code = new byte[3];
+    buffer.get(code);
+    return Currency.getInstance(new String(code, StandardCharsets.US_ASCII));
+  }
+
+  private static int checksum(ByteBuffer buffer, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(0, length));
+    return (int) crc.getValue();
+  }
+}
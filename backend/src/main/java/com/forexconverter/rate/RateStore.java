@@ -0,0 +1,32 @@
+package com.forexconverter.rate;
+
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Backing store for the latest known quote of every currency pair.
+ *
+ * <p>Stores do not judge freshness: a quote is returned until it is replaced or evicted, and
+ * callers decide from {@link Quote#fetchedAt()} whether it may still be served.
+ */
+public interface RateStore {
+
+  /** Returns the latest quote stored for the pair, or {@code null} if there is none. */
+  Quote get(Currency from, Currency to);
+
+  void put(Quote quote);
+
+  default void putAll(Collection<Quote> quotes) {
+    update(quotes, List.of());
+  }
+
+  /**
+   * Stores {@code quotes} and removes the quotes of {@code removed} as a single update. Stores that
+   * publish updates as a new version make it visible to readers atomically.
+   */
+  void update(Collection<Quote> quotes, Collection<CurrencyPair> removed);
+
+  /** Returns the number of stored quotes, possibly an estimate. */
+  long size();
+}
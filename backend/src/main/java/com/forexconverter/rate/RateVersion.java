@@ -0,0 +1,98 @@
+package com.forexconverter.rate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version of the rates being served, for HTTP caching of conversion responses.
+ *
+ * <p>The version changes whenever a stored rate is changed or removed, or rates are restored, and
+ * starts from the startup time, so a version is never reused across restarts. Adding the rate of a
+ * pair that had none, as filling a miss does, keeps the version, since only successful conversions
+ * carry it. Rates are expected to stay the same until the next {@link WarmupRunner#REFRESH_CRON
+ * scheduled refresh}. Once a scheduled refresh is due, no freshness is granted until it has
+ * completed.
+ */
+@Component
+public class RateVersion {
+
+  private final Clock clock;
+  private final boolean refreshScheduled;
+  private final CronExpression refreshCron = CronExpression.parse(WarmupRunner.REFRESH_CRON);
+  private final ZoneId refreshZone = ZoneId.of(WarmupRunner.REFRESH_ZONE);
+  private final String epoch;
+
+  // Guarded by this. The ETag is published through a volatile so that reading it does not lock.
+  private long version;
+  private volatile String etag;
+  private volatile Instant nextRefresh;
+
+  public RateVersion(CacheProperties properties, Clock clock) {
+    this.clock = clock;
+    this.refreshScheduled = properties.warmup().enabled();
+    this.epoch = Long.toString(clock.millis(), 36);
+    this.etag = etag(0);
+    this.nextRefresh = nextRefresh(clock.instant());
+  }
+
+  @EventListener
+  public void onRatesChanged(RatesChangedEvent event) {
+    if (event.replacesRates()) {
+      nextVersion();
+    }
+  }
+
+  @EventListener(RatesRestoredEvent.class)
+  public void onRatesRestored() {
+    nextVersion();
+  }
+
+  private synchronized void nextVersion() {
+    etag = etag(++version);
+  }
+
+  /** Only schedules the next refresh, the rates it changed are announced by their own event. */
+  @EventListener
+  public void onRatesRefreshed(RatesRefreshedEvent event) {
+    nextRefresh = nextRefresh(clock.instant());
+  }
+
+  @EventListener
+  public void onRatesRefreshFailed(RatesRefreshFailedEvent event) {
+    nextRefresh = nextRefresh(clock.instant());
+  }
+
+  /** Returns the strong ETag of the current rates. */
+  public String etag() {
+    return etag;
+  }
+
+  /** Returns how long the current rates are expected to stay the same. */
+  public Duration untilRefresh() {
+    Instant now = clock.instant();
+    Instant next = nextRefresh;
+    if (now.isBefore(next)) {
+      return Duration.between(now, next);
+    }
+    if (refreshScheduled) {
+      // The scheduled refresh is due or still running.
+      return Duration.ZERO;
+    }
+    next = nextRefresh(now);
+    nextRefresh = next;
+    return Duration.between(now, next);
+  }
+
+  private String etag(long version) {
+    return '"' + epoch + '-' + Long.toString(version, 36) + '"';
+  }
+
+  private Instant nextRefresh(Instant now) {
+    return refreshCron.next(now.atZone(refreshZone)).toInstant();
+  }
+}
@@ -0,0 +1,30 @@
+package com.forexconverter.rate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published by {@link SwopProvider} after a load from the provider changed the stored rates, by a
+ * bulk load or by filling a miss. Quotes stored again with the same rate and date are left out.
+ *
+ * @param added quotes of pairs that had no stored quote, including derived cross-rates
+ * @param changed quotes whose rate or date differs from the stored one, including derived
+ *     cross-rates
+ * @param removed the pairs no longer quoted by the bulk load
+ */
+public record RatesChangedEvent(
+    List<Quote> added, List<Quote> changed, List<CurrencyPair> removed) {
+
+  /** Returns the added and changed quotes. */
+  public List<Quote> quotes() {
+    List<Quote> quotes = new ArrayList<>(added.size() + changed.size());
+    quotes.addAll(added);
+    quotes.addAll(changed);
+    return quotes;
+  }
+
+  /** Whether a rate that may already have been served was changed or removed. */
+  public boolean replacesRates() {
+    return !changed.isEmpty() || !removed.isEmpty();
+  }
+}
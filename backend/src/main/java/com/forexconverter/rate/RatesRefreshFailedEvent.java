@@ -0,0 +1,4 @@
+package com.forexconverter.rate;
+
+/** Published by {@link SwopProvider} when a bulk load from the provider failed. */
+public record RatesRefreshFailedEvent(Exception cause) {}
@@ -0,0 +1,11 @@
+package com.forexconverter.rate;
+
+import java.util.List;
+
+/**
+ * Published by {@link SwopProvider} after a bulk load from the provider succeeded.
+ *
+ * @param quotes the quotes as loaded from the provider, without derived cross-rates
+ * @param pairs the number of pairs stored, including derived cross-rates
+ */
+public record RatesRefreshedEvent(List<Quote> quotes, int pairs) {}
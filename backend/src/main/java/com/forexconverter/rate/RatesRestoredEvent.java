@@ -0,0 +1,13 @@
+package com.forexconverter.rate;
+
+import java.util.List;
+
+/**
+ * Published by {@link SwopProvider} after quotes kept from a previous run were restored.
+ *
+ * @param quotes the restored quotes, without derived cross-rates
+ * @param pairs the number of pairs stored, including derived cross-rates
+ * @param servable the number of those pairs within the hard TTL, served without asking the
+ *     provider. The others are only served as last-known-good when the provider fails.
+ */
+public record RatesRestoredEvent(List<Quote> quotes, int pairs, int servable) {}
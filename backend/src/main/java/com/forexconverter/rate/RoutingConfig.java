@@ -0,0 +1,35 @@
+package com.forexconverter.rate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class RoutingConfig {
+
+  /**
+   * Provider used for conversions, routing across the sources configured in {@code
+   * forex.routing.sources}. The sources themselves stay available as beans of their own type.
+   */
+  @Bean(destroyMethod = "close")
+  @Primary
+  public RoutingProvider routingProvider(
+      RoutingProperties properties, SwopProvider swopProvider, MeterRegistry meterRegistry) {
+    SequencedMap<String, Provider> sources = new LinkedHashMap<>();
+    for (RoutingProperties.Source source : properties.sources()) {
+      Provider provider =
+          switch (source) {
+            case SWOP -> swopProvider;
+            case FILE -> StaticProvider.load(properties.file().path());
+            case LOCAL -> StaticProvider.of(properties.local().rates());
+          };
+      if (sources.putIfAbsent(source.name().toLowerCase(), provider) != null) {
+        throw new IllegalStateException("Source " + source + " is configured more than once");
+      }
+    }
+    return new RoutingProvider(sources, properties.hedge(), meterRegistry);
+  }
+}
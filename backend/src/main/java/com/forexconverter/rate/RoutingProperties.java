@@ -0,0 +1,172 @@
+package com.forexconverter.rate;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "forex.routing")
+public class RoutingProperties {
+
+  /** Source a {@link RoutingProvider} can route rate lookups to. */
+  public enum Source {
+    /** The Swop API behind the rate cache, see {@link SwopProvider}. */
+    SWOP,
+    /** Rates read once from {@code file.path}. */
+    FILE,
+    /** Rates configured in {@code local.rates}, a stand-in for development and tests. */
+    LOCAL
+  }
+
+  /** Second lookups started when the current one is slow, see {@link RoutingProvider}. */
+  public static class Hedge {
+
+    private boolean enabled = true;
+
+    /** Latency percentile of a source after which the next source is queried as well. */
+    @DecimalMin("0.5")
+    @DecimalMax("1.0")
+    private double percentile = 0.95;
+
+    /** Number of most recent successful lookups the percentile is computed over. */
+    @Min(1)
+    private int windowSize = 100;
+
+    /** Lookups recorded before the delay adapts to the percentile. */
+    @Min(1)
+    private int minimumCalls = 20;
+
+    /** Lower bound of the hedge delay. */
+    @NotNull private Duration minDelay = Duration.ofMillis(20);
+
+    /** Upper bound of the hedge delay, used until enough lookups are recorded. */
+    @NotNull private Duration maxDelay = Duration.ofMillis(500);
+
+    public boolean enabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public double percentile() {
+      return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+      this.percentile = percentile;
+    }
+
+    public int windowSize() {
+      return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+      this.windowSize = windowSize;
+    }
+
+    public int minimumCalls() {
+      return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+      this.minimumCalls = minimumCalls;
+    }
+
+    public Duration minDelay() {
+      return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+      this.minDelay = minDelay;
+    }
+
+    public Duration maxDelay() {
+      return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+      this.maxDelay = maxDelay;
+    }
+  }
+
+  /** The {@link Source#FILE} source. */
+  public static class File {
+
+    /** CSV file with one {@code FROM,TO,RATE[,DATE]} line per pair. */
+    private Path path = Path.of("data", "rates.csv");
+
+    public Path path() {
+      return path;
+    }
+
+    public void setPath(Path path) {
+      this.path = path;
+    }
+  }
+
+  /** The {@link Source#LOCAL} source. */
+  public static class Local {
+
+    /** Rates keyed by pair, for example {@code USD-EUR: 0.925}. */
+    private Map<String, BigDecimal> rates = new LinkedHashMap<>();
+
+    public Map<String, BigDecimal> rates() {
+      return rates;
+    }
+
+    public void setRates(Map<String, BigDecimal> rates) {
+      this.rates = rates;
+    }
+  }
+
+  /** Sources in order of priority. Lookups fail over to the next source when one fails. */
+  @NotEmpty private List<Source> sources = List.of(Source.SWOP);
+
+  private Hedge hedge = new Hedge();
+  private File file = new File();
+  private Local local = new Local();
+
+  public List<Source> sources() {
+    return sources;
+  }
+
+  public void setSources(List<Source> sources) {
+    this.sources = sources;
+  }
+
+  public Hedge hedge() {
+    return hedge;
+  }
+
+  public void setHedge(Hedge hedge) {
+    this.hedge = hedge;
+  }
+
+  public File file() {
+    return file;
+  }
+
+  public void setFile(File file) {
+    this.file = file;
+  }
+
+  public Local local() {
+    return local;
+  }
+
+  public void setLocal(Local local) {
+    this.local = local;
+  }
+}
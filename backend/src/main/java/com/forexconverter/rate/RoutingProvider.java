@@ -0,0 +1,273 @@
+package com.forexconverter.rate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes rate lookups across several sources in order of priority.
+ *
+ * <p>A lookup starts with the first source and fails over to the next one when it fails or returns
+ * a stale quote. With hedging enabled, the next source is also queried when the current one has not
+ * answered within its hedge delay: the configured latency percentile of its recent successful
+ * lookups, bounded by {@code minDelay} and {@code maxDelay}. The first fresh quote wins. A stale
+ * quote is only returned when no source has a fresh one.
+ *
+ * <p>Lookups that lost the race are not interrupted, since the sources may share them with other
+ * callers. They run to completion and still count towards the latency of their source.
+ */
+public class RoutingProvider implements Provider, AutoCloseable {
+
+  private final List<Route> routes;
+  private final RoutingProperties.Hedge hedge;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  /**
+   * @param sources the providers to route to by name, in order of priority
+   */
+  public RoutingProvider(
+      SequencedMap<String, Provider> sources,
+      RoutingProperties.Hedge hedge,
+      MeterRegistry meterRegistry) {
+    if (sources.isEmpty()) {
+      throw new IllegalArgumentException("At least one source is required");
+    }
+    this.hedge = hedge;
+    this.routes = new ArrayList<>(sources.size());
+    boolean hedged = hedge.enabled() && sources.size() > 1;
+    for (Map.Entry<String, Provider> source : sources.entrySet()) {
+      routes.add(new Route(source.getKey(), source.getValue(), hedged, hedge, meterRegistry));
+    }
+  }
+
+  @Override
+  public BigDecimal getRate(Currency from, Currency to) {
+    return getQuote(from, to).rate();
+  }
+
+  @Override
+  public Quote getQuote(Currency from, Currency to) {
+    return lookup(from, to).orElseThrow();
+  }
+
+  @Override
+  public RateResult lookup(Currency from, Currency to) {
+    if (routes.size() == 1) {
+      // Nothing to fail over or hedge to, so the lookup stays on the caller thread.
+      Route route = routes.getFirst();
+      RateResult result = route.lookup(from, to);
+      if (result instanceof Quote) {
+        route.wins.increment();
+      }
+      return result;
+    }
+    try {
+      return race(from, to);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return RateFailure.unavailable("Interrupted while waiting for a rate");
+    }
+  }
+
+  private RateResult race(Currency from, Currency to) throws InterruptedException {
+    BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+    int started = 0;
+    int running = 0;
+    Outcome staleOutcome = null;
+    RateFailure failure = null;
+    RuntimeException unexpected = null;
+
+    start(routes.get(started++), from, to, outcomes);
+    running++;
+    while (running > 0) {
+      Outcome outcome;
+      if (hedge.enabled() && started < routes.size()) {
+        Route current = routes.get(started - 1);
+        outcome = outcomes.poll(current.hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        if (outcome == null) {
+          Route next = routes.get(started++);
+          next.hedges.increment();
+          start(next, from, to, outcomes);
+          running++;
+          continue;
+        }
+      } else {
+        outcome = outcomes.take();
+      }
+      running--;
+
+      RateResult result = outcome.result();
+      if (result instanceof Quote quote && !quote.stale()) {
+        outcome.route().wins.increment();
+        return quote;
+      } else if (result instanceof Quote) {
+        staleOutcome = staleOutcome == null ? outcome : staleOutcome;
+      } else if (result instanceof RateFailure candidate) {
+        failure = preferred(failure, candidate);
+      } else if (unexpected == null) {
+        unexpected = outcome.unexpected();
+      }
+      if (running == 0 && started < routes.size()) {
+        start(routes.get(started++), from, to, outcomes);
+        running++;
+      }
+    }
+
+    if (staleOutcome != null) {
+      staleOutcome.route().wins.increment();
+      return staleOutcome.result();
+    }
+    if (failure != null) {
+      return failure;
+    }
+    throw unexpected;
+  }
+
+  private void start(Route route, Currency from, Currency to, BlockingQueue<Outcome> outcomes) {
+    executor.execute(
+        () -> {
+          try {
+            outcomes.add(new Outcome(route, route.lookup(from, to), null));
+          } catch (RuntimeException e) {
+            outcomes.add(new Outcome(route, null, e));
+          }
+        });
+  }
+
+  /** Stops the threads of lookups still running, without waiting for them. */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /** An unavailable source says more about the outage than another source missing the pair. */
+  private static RateFailure preferred(RateFailure current, RateFailure candidate) {
+    if (current == null
+        || (candidate.reason() == RateFailure.Reason.UNAVAILABLE
+            && current.reason() != RateFailure.Reason.UNAVAILABLE)) {
+      return candidate;
+    }
+    return current;
+  }
+
+  /** Returns the current hedge delay of the named source. */
+  public Duration hedgeDelay(String name) {
+    for (Route route : routes) {
+      if (route.name.equals(name)) {
+        return Duration.ofNanos(route.hedgeDelayNanos());
+      }
+    }
+    throw new IllegalArgumentException("Unknown source " + name);
+  }
+
+  /** The result of a source, or {@code null} with the unexpected exception it threw. */
+  private record Outcome(Route route, RateResult result, RuntimeException unexpected) {}
+
+  private static final class Route {
+
+    /** Successful lookups recorded between two updates of the hedge delay. */
+    private static final int DELAY_UPDATE_INTERVAL = 16;
+
+    private final String name;
+    private final Provider provider;
+    private final boolean hedged;
+    private final RoutingProperties.Hedge hedge;
+    private final Timer successes;
+    private final Timer failures;
+    private final Counter wins;
+    private final Counter hedges;
+
+    private volatile long hedgeDelayNanos;
+
+    // Guarded by this.
+    private final long[] durations;
+    private int next;
+    private int recorded;
+    private int sinceUpdate;
+
+    Route(
+        String name,
+        Provider provider,
+        boolean hedged,
+        RoutingProperties.Hedge hedge,
+        MeterRegistry registry) {
+      this.name = name;
+      this.provider = provider;
+      this.hedged = hedged;
+      this.hedge = hedge;
+      this.durations = new long[hedge.windowSize()];
+      this.hedgeDelayNanos = hedge.maxDelay().toNanos();
+      this.successes = latencyTimer(registry, name, "success");
+      this.failures = latencyTimer(registry, name, "error");
+      this.wins =
+          Counter.builder("provider.route.wins")
+              .description("Number of lookups answered by a source")
+              .tag("provider", name)
+              .register(registry);
+      this.hedges =
+          Counter.builder("provider.route.hedges")
+              .description("Number of lookups a source was queried for because another was slow")
+              .tag("provider", name)
+              .register(registry);
+    }
+
+    private static Timer latencyTimer(MeterRegistry registry, String name, String outcome) {
+      return Timer.builder("provider.route.latency")
+          .description("Rate lookups by source and outcome")
+          .tag("provider", name)
+          .tag("outcome", outcome)
+          .register(registry);
+    }
+
+    RateResult lookup(Currency from, Currency to) {
+      long start = System.nanoTime();
+      try {
+        RateResult result = provider.lookup(from, to);
+        long nanos = System.nanoTime() - start;
+        if (result instanceof RateFailure) {
+          failures.record(nanos, TimeUnit.NANOSECONDS);
+          return result;
+        }
+        successes.record(nanos, TimeUnit.NANOSECONDS);
+        if (hedged) {
+          record(nanos);
+        }
+        return result;
+      } catch (RuntimeException e) {
+        failures.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        throw e;
+      }
+    }
+
+    long hedgeDelayNanos() {
+      return hedgeDelayNanos;
+    }
+
+    private synchronized void record(long nanos) {
+      durations[next] = nanos;
+      next = (next + 1) % durations.length;
+      recorded = Math.min(recorded + 1, durations.length);
+      if (++sinceUpdate >= DELAY_UPDATE_INTERVAL && recorded >= hedge.minimumCalls()) {
+        sinceUpdate = 0;
+        long[] sorted = Arrays.copyOf(durations, recorded);
+        Arrays.sort(sorted);
+        long percentile = sorted[(int) Math.ceil(recorded * hedge.percentile()) - 1];
+        hedgeDelayNanos =
+            Math.clamp(percentile, hedge.minDelay().toNanos(), hedge.maxDelay().toNanos());
+      }
+    }
+  }
+}
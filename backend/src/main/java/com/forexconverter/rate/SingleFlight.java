@@ -0,0 +1,110 @@
+package com.forexconverter.rate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ *
+ * <p>The first caller for a key runs the call; callers arriving while it is in flight wait for it
+ * and receive the same result, or the same exception.
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter coalesced;
+
+  public SingleFlight(MeterRegistry meterRegistry, String name) {
+    this.executed =
+        Counter.builder(name + ".calls")
+            .description("Number of calls by whether they were executed or coalesced")
+            .tag("role", "executed")
+            .register(meterRegistry);
+    this.coalesced =
+        Counter.builder(name + ".calls")
+            .description("Number of calls by whether they were executed or coalesced")
+            .tag("role", "coalesced")
+            .register(meterRegistry);
+    Gauge.builder(name + ".in.flight", inFlight, ConcurrentMap::size)
+        .description("Number of keys with a call in flight")
+        .register(meterRegistry);
+  }
+
+  public V execute(K key, Supplier<V> call) {
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+    if (existing != null) {
+      coalesced.increment();
+      return await(existing);
+    }
+
+    executed.increment();
+    try {
+      V result = call.get();
+      flight.complete(result);
+      return result;
+    } catch (Throwable e) {
+      // Errors too, so that the coalesced callers do not wait forever.
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  /**
+   * Starts the call on {@code executor} unless a call for the key is already in flight.
+   *
+   * <p>Callers of {@link #execute} for the same key join the started call. Its outcome is not
+   * reported to the caller of this method.
+   */
+  public void executeAsync(K key, Supplier<V> call, Executor executor) {
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    if (inFlight.putIfAbsent(key, flight) != null) {
+      return;
+    }
+
+    executed.increment();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              flight.complete(call.get());
+            } catch (RuntimeException e) {
+              flight.completeExceptionally(e);
+            } catch (Throwable e) {
+              flight.completeExceptionally(e);
+              throw e;
+            } finally {
+              inFlight.remove(key, flight);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      inFlight.remove(key, flight);
+      flight.completeExceptionally(e);
+    }
+  }
+
+  private V await(CompletableFuture<V> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.forexconverter.rate;
+
+import java.io.IOException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the rate cache in a {@link RateSnapshot} across restarts.
+ *
+ * <p>The snapshot is restored on the startup thread before any other runner, so the application
+ * only reports ready once the restored rates are served. It is rewritten after every successful
+ * warmup or refresh.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(
+    name = "forex.cache.snapshot.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class SnapshotRunner implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(SnapshotRunner.class);
+
+  private final SwopProvider swopProvider;
+  private final RateSnapshot snapshot;
+
+  public SnapshotRunner(SwopProvider swopProvider, CacheProperties properties) {
+    this.swopProvider = swopProvider;
+    this.snapshot = new RateSnapshot(properties.snapshot().path());
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    try {
+      List<Quote> quotes = snapshot.read();
+      if (quotes.isEmpty()) {
+        log.info("No rate snapshot found at {}", snapshot.path());
+        return;
+      }
+      int restored = swopProvider.restore(quotes);
+      log.info(
+          "Restored {} of {} rates from snapshot {}, dropping the ones too old to serve",
+          restored,
+          quotes.size(),
+          snapshot.path());
+    } catch (IOException e) {
+      log.warn("Failed to restore rate snapshot: {}", e.getMessage(), e);
+    }
+  }
+
+  @EventListener
+  public void onRatesRefreshed(RatesRefreshedEvent event) {
+    try {
+      snapshot.write(event.quotes());
+      log.info("Wrote {} rates to snapshot {}", event.quotes().size(), snapshot.path());
+    } catch (IOException e) {
+      log.warn("Failed to write rate snapshot: {}", e.getMessage(), e);
+    }
+  }
+}
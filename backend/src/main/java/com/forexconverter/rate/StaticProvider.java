@@ -0,0 +1,103 @@
+package com.forexconverter.rate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves a fixed set of rates held in memory, loaded from a file or from configuration.
+ *
+ * <p>Rates are never reloaded, so the source is meant as a fallback behind a live one or as a
+ * stand-in where no upstream is available.
+ */
+public class StaticProvider implements Provider {
+
+  private static final RateFailure NOT_FOUND = RateFailure.notFound("Rate not found");
+
+  private final Map<CurrencyPair, Quote> quotes;
+
+  public StaticProvider(Map<CurrencyPair, Quote> quotes) {
+    this.quotes = Map.copyOf(quotes);
+  }
+
+  /**
+   * Loads the rates of a CSV file with one {@code FROM,TO,RATE[,DATE]} line per pair. Blank lines
+   * and lines starting with {@code #} are skipped.
+   *
+   * @throws IllegalArgumentException if a line cannot be parsed
+   */
+  public static StaticProvider load(Path path) {
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read rates from " + path, e);
+    }
+
+    Map<CurrencyPair, Quote> quotes = new HashMap<>();
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i).strip();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      String[] fields = line.split(",");
+      if (fields.length < 3 || fields.length > 4) {
+        throw new IllegalArgumentException(path + ":" + (i + 1) + ": expected FROM,TO,RATE[,DATE]");
+      }
+      CurrencyPair pair =
+          CurrencyPair.of(
+              Currency.getInstance(fields[0].strip()), Currency.getInstance(fields[1].strip()));
+      LocalDate date = fields.length == 4 ? LocalDate.parse(fields[3].strip()) : null;
+      quotes.put(pair, new Quote(pair, new BigDecimal(fields[2].strip()), date, 0));
+    }
+    return new StaticProvider(quotes);
+  }
+
+  /**
+   * Creates the provider from rates keyed by pair, such as {@code USD-EUR}.
+   *
+   * @throws IllegalArgumentException if a key is not a pair of currency codes
+   */
+  public static StaticProvider of(Map<String, BigDecimal> rates) {
+    Map<CurrencyPair, Quote> quotes = new HashMap<>();
+    rates.forEach(
+        (key, rate) -> {
+          String[] codes = key.split("-");
+          if (codes.length != 2) {
+            throw new IllegalArgumentException("Expected a pair such as USD-EUR, got " + key);
+          }
+          CurrencyPair pair =
+              CurrencyPair.of(Currency.getInstance(codes[0]), Currency.getInstance(codes[1]));
+          quotes.put(pair, new Quote(pair, rate, null, 0));
+        });
+    return new StaticProvider(quotes);
+  }
+
+  @Override
+  public BigDecimal getRate(Currency from, Currency to) {
+    return getQuote(from, to).rate();
+  }
+
+  @Override
+  public Quote getQuote(Currency from, Currency to) {
+    return lookup(from, to).orElseThrow();
+  }
+
+  @Override
+  public RateResult lookup(Currency from, Currency to) {
+    Quote quote = quotes.get(CurrencyPair.of(from, to));
+    return quote != null ? quote : NOT_FOUND;
+  }
+
+  /** Returns the number of pairs served. */
+  public int size() {
+    return quotes.size();
+  }
+}
@@ -1,14 +1,31 @@
 package com.forexconverter.rate;
 
+import com.forexconverter.swop.BudgetExhaustedException;
 import com.forexconverter.swop.Client;
 import com.forexconverter.swop.RateResponseDTO;
+import com.forexconverter.swop.RequestBudget;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.stereotype.Service;
@@ -21,57 +38,393 @@ public class SwopProvider implements Provider {
 
   private static final Logger log = LoggerFactory.getLogger(SwopProvider.class);
 
+  // Failures are logged in full ten times a minute, then one in a hundred.
+  private static final int LOG_BURST = 10;
+  private static final int LOG_SAMPLE_RATE = 100;
+  private static final Duration LOG_INTERVAL = Duration.ofMinutes(1);
+
+  private static final RateFailure UNSUPPORTED = RateFailure.notFound("Rate not found");
+
   private final Client client;
-  private final Cache cache;
+  private final RequestBudget budget;
+  private final CircuitBreaker circuitBreaker;
+  private final RateStore store;
+  private final CrossRateCalculator crossRates;
+  private final Executor refreshExecutor;
+  private final Clock clock;
+  private final long softTtlMillis;
+  private final long hardTtlMillis;
+  private final long fallbackMaxAgeMillis;
+  private final SingleFlight<CurrencyPair, Quote> fetches;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Timer hits;
+  private final Timer staleHits;
+  private final Timer misses;
+  private final Timer rejections;
+  private final Counter staleServed;
+  private final Counter refreshAdded;
+  private final Counter refreshChanged;
+  private final Counter refreshRemoved;
+  private final Counter refreshUnchanged;
+  private final LogLimiter fetchFailureLog;
+  private final LogLimiter staleLog;
+
+  // Pairs the provider rejected, answered locally until they expire.
+  private final Cache<CurrencyPair, RateFailure> rejectedPairs;
+
+  // Pairs of the last bulk load, including derived cross-rates.
+  private volatile Set<CurrencyPair> loadedPairs = Set.of();
+
+  // Whether the last bulk load quoted a currency, by ordinal. Null until rates were loaded.
+  private volatile boolean[] quotedCurrencies;
 
-  public SwopProvider(Client client, CacheManager cacheManager) {
+  public SwopProvider(
+      Client client,
+      RequestBudget budget,
+      CircuitBreaker circuitBreaker,
+      RateStore store,
+      CrossRateCalculator crossRates,
+      CacheProperties cacheProperties,
+      @Qualifier("applicationTaskExecutor") Executor refreshExecutor,
+      Clock clock,
+      MeterRegistry meterRegistry,
+      ApplicationEventPublisher eventPublisher) {
     this.client = client;
-    this.cache = cacheManager.getCache(CacheConfig.EXCHANGE_RATES_CACHE);
+    this.budget = budget;
+    this.circuitBreaker = circuitBreaker;
+    this.store = store;
+    this.crossRates = crossRates;
+    this.refreshExecutor = refreshExecutor;
+    this.clock = clock;
+    this.softTtlMillis = cacheProperties.softTtl().toMillis();
+    this.hardTtlMillis = cacheProperties.hardTtl().toMillis();
+    this.fallbackMaxAgeMillis = cacheProperties.fallbackMaxAge().toMillis();
+    this.fetches = new SingleFlight<>(meterRegistry, "provider.fetch");
+    this.eventPublisher = eventPublisher;
+    this.hits = lookupTimer(meterRegistry, "hit");
+    this.staleHits = lookupTimer(meterRegistry, "stale");
+    this.misses = lookupTimer(meterRegistry, "miss");
+    this.rejections = lookupTimer(meterRegistry, "rejected");
+    this.staleServed =
+        Counter.builder("provider.rate.stale")
+            .description("Number of rates served past their hard TTL because reloading them failed")
+            .register(meterRegistry);
+    this.refreshAdded = refreshCounter(meterRegistry, "added");
+    this.refreshChanged = refreshCounter(meterRegistry, "changed");
+    this.refreshRemoved = refreshCounter(meterRegistry, "removed");
+    this.refreshUnchanged = refreshCounter(meterRegistry, "unchanged");
+    this.fetchFailureLog = new LogLimiter(LOG_BURST, LOG_SAMPLE_RATE, LOG_INTERVAL, clock);
+    this.staleLog = new LogLimiter(LOG_BURST, LOG_SAMPLE_RATE, LOG_INTERVAL, clock);
+    this.rejectedPairs =
+        Caffeine.newBuilder()
+            .expireAfterWrite(cacheProperties.negative().ttl())
+            .maximumSize(cacheProperties.negative().maxSize())
+            .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+            .build();
+  }
+
+  private static Counter refreshCounter(MeterRegistry meterRegistry, String change) {
+    return Counter.builder("rate.refresh.pairs")
+        .description(
+            "Number of pairs loaded by bulk loads, by how they differ from the stored ones")
+        .tag("change", change)
+        .register(meterRegistry);
+  }
+
+  private static Timer lookupTimer(MeterRegistry meterRegistry, String result) {
+    return Timer.builder("provider.rate.lookup")
+        .description("Time to look up a rate, by whether it was served from the cache")
+        .tag("result", result)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
   }
 
   @Override
   public BigDecimal getRate(Currency from, Currency to) {
-    String todayKey = buildKey(LocalDate.now(), from, to);
-    BigDecimal cached = cache.get(todayKey, BigDecimal.class);
+    return getQuote(from, to).rate();
+  }
+
+  @Override
+  public Quote getQuote(Currency from, Currency to) {
+    return lookup(from, to).orElseThrow();
+  }
+
+  @Override
+  public RateResult lookup(Currency from, Currency to) {
+    long start = System.nanoTime();
+    Quote cached = store.get(from, to);
 
+    if (cached != null) {
+      long age = clock.millis() - cached.fetchedAt();
+      if (age <= hardTtlMillis) {
+        Timer timer = hits;
+        if (age > softTtlMillis) {
+          CurrencyPair pair = CurrencyPair.of(from, to);
+          fetches.executeAsync(pair, () -> load(pair), refreshExecutor);
+          timer = staleHits;
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return cached;
+      }
+    }
+
+    CurrencyPair pair = CurrencyPair.of(from, to);
+    RateFailure rejected = rejected(pair);
+    if (rejected != null) {
+      rejections.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return rejected;
+    }
+
+    try {
+      return fetches.execute(pair, () -> loadIfMissing(pair));
+    } catch (ProviderRateNotFoundException e) {
+      return reject(pair, e);
+    } catch (ProviderException e) {
+      Quote fallback = lastKnownGood(pair);
+      if (fallback == null) {
+        return rejectsPair(e) ? reject(pair, e) : RateFailure.of(e);
+      }
+      staleServed.increment();
+      long skipped = staleLog.tryAcquire();
+      if (skipped != LogLimiter.SKIP) {
+        log.warn(
+            "Serving stale rate for {} -> {} from {} ({} similar messages skipped)",
+            from,
+            to,
+            fallback.date(),
+            skipped);
+      }
+      return fallback.asStale();
+    } finally {
+      misses.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Returns the failure to answer locally for a pair the provider is known not to support: a pair
+   * with a currency missing from the last bulk load, or a pair it rejected within the negative TTL.
+   */
+  private RateFailure rejected(CurrencyPair pair) {
+    boolean[] quoted = quotedCurrencies;
+    if (quoted != null
+        && (!quoted[CurrencyIndex.of(pair.from())] || !quoted[CurrencyIndex.of(pair.to())])) {
+      return UNSUPPORTED;
+    }
+    return rejectedPairs.getIfPresent(pair);
+  }
+
+  private RateFailure reject(CurrencyPair pair, RuntimeException e) {
+    RateFailure failure = RateFailure.of(e);
+    // The exception is not kept, so that its cause and response body are not held in the cache.
+    rejectedPairs.put(pair, new RateFailure(failure.reason(), failure.message(), null));
+    return failure;
+  }
+
+  /** Whether the provider answered that the pair is invalid, which retrying would not change. */
+  private static boolean rejectsPair(ProviderException e) {
+    return e.getCause() instanceof HttpClientErrorException error
+        && (error.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)
+            || error.getStatusCode().isSameCodeAs(HttpStatus.UNPROCESSABLE_CONTENT));
+  }
+
+  /** Returns the stored quote for the pair if it is within the fallback max age. */
+  private Quote lastKnownGood(CurrencyPair pair) {
+    Quote quote = store.get(pair.from(), pair.to());
+    if (quote == null || clock.millis() - quote.fetchedAt() > fallbackMaxAgeMillis) {
+      return null;
+    }
+    return quote;
+  }
+
+  private Quote loadIfMissing(CurrencyPair pair) {
+    // A flight for this pair may have filled the cache since the caller looked it up.
+    Quote cached = fresh(pair.from(), pair.to());
     if (cached != null) {
       return cached;
     }
+    return load(pair);
+  }
+
+  private Quote load(CurrencyPair pair) {
+    Quote derived = crossRates.derive(pair.from(), pair.to(), this::fresh);
+    if (derived != null) {
+      store(derived);
+      return derived;
+    }
 
     try {
+      // The budget is taken outside the breaker, so that waiting for it is not a slow call.
+      budget.acquire("fetchRate");
       ResponseEntity<RateResponseDTO> response =
-          client.fetchRate(from.getCurrencyCode(), to.getCurrencyCode());
+          circuitBreaker.execute(
+              () -> client.fetchRate(pair.from().getCurrencyCode(), pair.to().getCurrencyCode()));
 
       Rate rate = mapToRate(response.getBody());
-      cache.put(todayKey, rate.rate());
-      return rate.rate();
+      Quote quote = new Quote(pair, rate.rate(), rate.date(), clock.millis());
+      store(quote);
+      return quote;
     } catch (Exception e) {
-      log.error("Failed to fetch rate for {} -> {}: {}", from, to, e.getMessage(), e);
+      logFetchFailure(pair, e);
       throw wrapException(e);
     }
   }
 
+  private void logFetchFailure(CurrencyPair pair, Exception e) {
+    if (e instanceof HttpClientErrorException.NotFound) {
+      // An unknown pair is an answer of the provider rather than a failure.
+      log.debug("Rate not found for {} -> {}", pair.from(), pair.to());
+      return;
+    }
+    long skipped = fetchFailureLog.tryAcquire();
+    if (skipped == LogLimiter.SKIP) {
+      return;
+    }
+    if (e instanceof CircuitBreakerException || e instanceof BudgetExhaustedException) {
+      log.warn(
+          "Failed to fetch rate for {} -> {}: {} ({} similar messages skipped)",
+          pair.from(),
+          pair.to(),
+          e.getMessage(),
+          skipped);
+    } else {
+      log.error(
+          "Failed to fetch rate for {} -> {}: {} ({} similar messages skipped)",
+          pair.from(),
+          pair.to(),
+          e.getMessage(),
+          skipped,
+          e);
+    }
+  }
+
+  private void store(Quote quote) {
+    Quote previous = store.get(quote.pair().from(), quote.pair().to());
+    store.put(quote);
+    if (previous == null) {
+      eventPublisher.publishEvent(new RatesChangedEvent(List.of(quote), List.of(), List.of()));
+    } else if (!RateDelta.sameRate(previous, quote)) {
+      eventPublisher.publishEvent(new RatesChangedEvent(List.of(), List.of(quote), List.of()));
+    }
+  }
+
+  private Quote fresh(Currency from, Currency to) {
+    Quote quote = store.get(from, to);
+    if (quote == null || clock.millis() - quote.fetchedAt() > softTtlMillis) {
+      return null;
+    }
+    return quote;
+  }
+
   public void warmupCache() {
+    List<Quote> quotes = new ArrayList<>();
+    Map<CurrencyPair, Quote> loaded;
+    RateDelta delta;
     try {
-      ResponseEntity<java.util.List<RateResponseDTO>> response = client.fetchAllRates();
+      budget.acquire("fetchAllRates");
+      // Not guarded by the breaker: the bulk response takes far longer than a single rate, so it
+      // would exceed the adaptive timeout and skew its window. It runs off the request path, and
+      // its failures are answered by keeping the stored rates.
+      ResponseEntity<List<RateResponseDTO>> response = client.fetchAllRates();
 
-      LocalDate today = LocalDate.now();
+      long fetchedAt = clock.millis();
       for (RateResponseDTO rate : response.getBody()) {
-        String key =
-            buildKey(
-                today,
+        CurrencyPair pair =
+            CurrencyPair.of(
                 Currency.getInstance(rate.baseCurrency()),
                 Currency.getInstance(rate.quoteCurrency()));
-        cache.put(key, rate.quote());
+        LocalDate date = rate.date() != null ? LocalDate.parse(rate.date()) : LocalDate.now(clock);
+        quotes.add(new Quote(pair, rate.quote(), date, fetchedAt));
+      }
+
+      if (quotes.isEmpty()) {
+        // Applied as a delta, an empty load would remove every rate.
+        throw new ProviderException("Rate provider returned no rates");
       }
-      log.info("Cache warmup completed, loaded {} rates", response.getBody().size());
+
+      loaded = withCrossRates(quotes);
+      delta = RateDelta.between(store, loaded.values(), loadedPairs);
+      store.update(loaded.values(), delta.removed());
+      loaded(loaded.keySet());
+      refreshAdded.increment(delta.added().size());
+      refreshChanged.increment(delta.changed().size());
+      refreshRemoved.increment(delta.removed().size());
+      refreshUnchanged.increment(delta.unchanged());
+      log.info(
+          "Cache warmup completed, loaded {} rates and {} cross-rates: {} added, {} changed, {}"
+              + " removed",
+          quotes.size(),
+          loaded.size() - quotes.size(),
+          delta.added().size(),
+          delta.changed().size(),
+          delta.removed().size());
     } catch (Exception e) {
       log.error("Cache warmup failed: {}", e.getMessage(), e);
+      eventPublisher.publishEvent(new RatesRefreshFailedEvent(e));
+      return;
+    }
+    if (!delta.isEmpty()) {
+      eventPublisher.publishEvent(
+          new RatesChangedEvent(delta.added(), delta.changed(), delta.removed()));
     }
+    eventPublisher.publishEvent(new RatesRefreshedEvent(List.copyOf(quotes), loaded.size()));
   }
 
-  private String buildKey(LocalDate date, Currency from, Currency to) {
-    return date + ":" + from + ":" + to;
+  /**
+   * Loads quotes kept from a previous run, together with their cross-rates.
+   *
+   * <p>The quotes keep their original fetch time, so they expire as if they had never left the
+   * cache. Quotes too old to be served even when the provider fails are dropped.
+   *
+   * @return the number of quotes restored
+   */
+  public int restore(List<Quote> quotes) {
+    long now = clock.millis();
+    long maxAge = Math.max(hardTtlMillis, fallbackMaxAgeMillis);
+    List<Quote> kept = quotes.stream().filter(quote -> now - quote.fetchedAt() <= maxAge).toList();
+    if (kept.isEmpty()) {
+      return 0;
+    }
+
+    Map<CurrencyPair, Quote> restored = withCrossRates(kept);
+    store.putAll(restored.values());
+    loaded(restored.keySet());
+    int servable = 0;
+    for (Quote quote : restored.values()) {
+      if (now - quote.fetchedAt() <= hardTtlMillis) {
+        servable++;
+      }
+    }
+    eventPublisher.publishEvent(new RatesRestoredEvent(kept, restored.size(), servable));
+    return kept.size();
+  }
+
+  /**
+   * Records the pairs of a bulk load. Its currencies become the supported ones, and previously
+   * rejected pairs are asked again.
+   */
+  private void loaded(Set<CurrencyPair> pairs) {
+    boolean[] quoted = new boolean[CurrencyIndex.SIZE];
+    for (CurrencyPair pair : pairs) {
+      quoted[CurrencyIndex.of(pair.from())] = true;
+      quoted[CurrencyIndex.of(pair.to())] = true;
+    }
+    loadedPairs = Set.copyOf(pairs);
+    quotedCurrencies = quoted;
+    rejectedPairs.invalidateAll();
+  }
+
+  /** Returns the quotes with their cross-rates, by pair. */
+  private Map<CurrencyPair, Quote> withCrossRates(List<Quote> quotes) {
+    Map<CurrencyPair, Quote> all = new LinkedHashMap<>();
+    for (Quote quote : crossRates.crossRates(quotes)) {
+      all.put(quote.pair(), quote);
+    }
+    // Direct quotes go last so they win over a derived quote for the same pair.
+    for (Quote quote : quotes) {
+      all.put(quote.pair(), quote);
+    }
+    return all;
   }
 
   private RuntimeException wrapException(Exception e) {
@@ -91,6 +444,14 @@ public class SwopProvider implements Provider {
       return new ProviderException("Rate provider unreachable", e);
     }
 
+    if (e instanceof CircuitBreakerException) {
+      return new ProviderException("Rate provider unavailable", e);
+    }
+
+    if (e instanceof BudgetExhaustedException) {
+      return new ProviderException("Rate provider request budget exhausted", e);
+    }
+
     if (e instanceof HttpMessageConversionException) {
       return new ProviderException("Failed to parse provider response", e);
     }
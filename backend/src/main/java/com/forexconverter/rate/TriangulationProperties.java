@@ -0,0 +1,66 @@
+package com.forexconverter.rate;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import java.math.RoundingMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "forex.triangulation")
+public class TriangulationProperties {
+
+  private boolean enabled = true;
+
+  /** Currency every rate of the bulk endpoint is quoted against. */
+  @NotBlank private String baseCurrency = "EUR";
+
+  /** Whether every cross-rate is derived upfront when the cache is warmed up. */
+  private boolean precompute = true;
+
+  /** Significant digits kept in a derived rate. */
+  @Min(1)
+  private int precision = 12;
+
+  private RoundingMode roundingMode = RoundingMode.HALF_EVEN;
+
+  public boolean enabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public String baseCurrency() {
+    return baseCurrency;
+  }
+
+  public void setBaseCurrency(String baseCurrency) {
+    this.baseCurrency = baseCurrency;
+  }
+
+  public boolean precompute() {
+    return precompute;
+  }
+
+  public void setPrecompute(boolean precompute) {
+    this.precompute = precompute;
+  }
+
+  public int precision() {
+    return precision;
+  }
+
+  public void setPrecision(int precision) {
+    this.precision = precision;
+  }
+
+  public RoundingMode roundingMode() {
+    return roundingMode;
+  }
+
+  public void setRoundingMode(RoundingMode roundingMode) {
+    this.roundingMode = roundingMode;
+  }
+}
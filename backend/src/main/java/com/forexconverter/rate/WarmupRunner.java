@@ -16,6 +16,11 @@ import org.springframework.stereotype.Component;
     matchIfMissing = true)
 public class WarmupRunner implements ApplicationRunner {
 
+  /** Schedule of the daily cache refresh, in {@link #REFRESH_ZONE}. */
+  public static final String REFRESH_CRON = "0 0 1 * * *";
+
+  public static final String REFRESH_ZONE = "UTC";
+
   private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
 
   private final SwopProvider swopProvider;
@@ -31,7 +36,7 @@ public class WarmupRunner implements ApplicationRunner {
     swopProvider.warmupCache();
   }
 
-  @Scheduled(cron = "0 0 1 * * *", zone = "UTC")
+  @Scheduled(cron = REFRESH_CRON, zone = REFRESH_ZONE)
   public void refreshCache() {
     log.info("Starting scheduled cache refresh");
     swopProvider.warmupCache();
@@ -0,0 +1,7 @@
+package com.forexconverter.stream;
+
+public class InvalidSubscriptionException extends RuntimeException {
+  public InvalidSubscriptionException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,17 @@
+package com.forexconverter.stream;
+
+import com.forexconverter.rate.Quote;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Data of a {@code rate} event sent by {@link RateStream}. */
+public record RateEventDTO(String from, String to, BigDecimal rate, LocalDate date) {
+
+  public RateEventDTO(Quote quote) {
+    this(
+        quote.pair().from().getCurrencyCode(),
+        quote.pair().to().getCurrencyCode(),
+        quote.rate(),
+        quote.date());
+  }
+}
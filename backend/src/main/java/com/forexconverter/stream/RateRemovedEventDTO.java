@@ -0,0 +1,11 @@
+package com.forexconverter.stream;
+
+import com.forexconverter.rate.CurrencyPair;
+
+/** Data of a {@code removed} event sent by {@link RateStream} for a pair no longer quoted. */
+public record RateRemovedEventDTO(String from, String to) {
+
+  public RateRemovedEventDTO(CurrencyPair pair) {
+    this(pair.from().getCurrencyCode(), pair.to().getCurrencyCode());
+  }
+}
@@ -0,0 +1,303 @@
+package com.forexconverter.stream;
+
+import com.forexconverter.rate.CurrencyPair;
+import com.forexconverter.rate.Provider;
+import com.forexconverter.rate.Quote;
+import com.forexconverter.rate.RateFailure;
+import com.forexconverter.rate.RatesChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams rate changes of subscribed currency pairs as server-sent events.
+ *
+ * <p>A stream holds no thread while idle. Changed quotes are handed to the subscriptions of their
+ * pair, which keep only the latest pending quote per pair. Each subscription is drained by at most
+ * one virtual thread at a time, so a slow client delays only its own stream and receives the latest
+ * rate once it catches up. A quote is sent only if its rate or date differs from the last one sent
+ * on the stream, and a pair that is no longer quoted is sent as a {@code removed} event.
+ *
+ * <p>Heartbeats are scheduled on a thread of their own, so that they keep coming while rate changes
+ * are being broadcast.
+ */
+@Component
+public class RateStream {
+
+  private static final Logger log = LoggerFactory.getLogger(RateStream.class);
+
+  private final Provider provider;
+  private final int maxSubscribers;
+  private final int maxPairs;
+  private final long timeoutMillis;
+  private final ConcurrentMap<CurrencyPair, Set<Subscription>> topics = new ConcurrentHashMap<>();
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger open = new AtomicInteger();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final ScheduledExecutorService heartbeats =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("rate-stream-heartbeat").daemon().factory());
+  private final Counter updates;
+
+  public RateStream(Provider provider, StreamProperties properties, MeterRegistry meterRegistry) {
+    this.provider = provider;
+    this.maxSubscribers = properties.maxSubscribers();
+    this.maxPairs = properties.maxPairs();
+    this.timeoutMillis = properties.timeout().toMillis();
+    this.updates =
+        Counter.builder("rate.stream.updates")
+            .description("Number of rate events sent to stream subscribers")
+            .register(meterRegistry);
+    Gauge.builder("rate.stream.subscribers", open, AtomicInteger::get)
+        .description("Number of open rate streams")
+        .register(meterRegistry);
+    long heartbeat = properties.heartbeat().toMillis();
+    heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Opens a stream of the given pairs. The current rate of each pair is sent first, followed by
+   * every change.
+   */
+  public SseEmitter subscribe(Set<CurrencyPair> pairs) {
+    if (pairs.isEmpty() || pairs.size() > maxPairs) {
+      throw new InvalidSubscriptionException(
+          "A stream must subscribe to between 1 and " + maxPairs + " currency pairs");
+    }
+    if (open.incrementAndGet() > maxSubscribers) {
+      open.decrementAndGet();
+      throw new SubscriberLimitException("Too many open rate streams");
+    }
+
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    Subscription subscription = new Subscription(emitter, pairs);
+    subscriptions.add(subscription);
+    for (CurrencyPair pair : pairs) {
+      topics.compute(
+          pair,
+          (p, subscribers) -> {
+            Set<Subscription> topic =
+                subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            topic.add(subscription);
+            return topic;
+          });
+    }
+    emitter.onCompletion(() -> unsubscribe(subscription));
+    emitter.onTimeout(() -> unsubscribe(subscription));
+    emitter.onError(e -> unsubscribe(subscription));
+
+    executor.execute(() -> sendCurrentRates(subscription));
+    return emitter;
+  }
+
+  private void sendCurrentRates(Subscription subscription) {
+    for (CurrencyPair pair : subscription.pairs) {
+      switch (provider.lookup(pair.from(), pair.to())) {
+        case Quote quote -> subscription.offerCurrent(quote);
+        // The rate is sent once it is stored.
+        case RateFailure failure ->
+            log.debug(
+                "No current rate for {} -> {}: {}", pair.from(), pair.to(), failure.message());
+      }
+    }
+  }
+
+  private void unsubscribe(Subscription subscription) {
+    if (!subscriptions.remove(subscription)) {
+      return;
+    }
+    open.decrementAndGet();
+    for (CurrencyPair pair : subscription.pairs) {
+      topics.computeIfPresent(
+          pair,
+          (p, subscribers) -> {
+            subscribers.remove(subscription);
+            return subscribers.isEmpty() ? null : subscribers;
+          });
+    }
+  }
+
+  @EventListener
+  public void onRatesChanged(RatesChangedEvent event) {
+    if (topics.isEmpty()) {
+      return;
+    }
+    for (Quote quote : event.quotes()) {
+      Set<Subscription> subscribers = topics.get(quote.pair());
+      if (subscribers != null) {
+        for (Subscription subscription : subscribers) {
+          subscription.offer(quote);
+        }
+      }
+    }
+    for (CurrencyPair pair : event.removed()) {
+      Set<Subscription> subscribers = topics.get(pair);
+      if (subscribers != null) {
+        for (Subscription subscription : subscribers) {
+          subscription.remove(pair);
+        }
+      }
+    }
+  }
+
+  /** Sends a comment on every stream, so that proxies do not close idle connections. */
+  void heartbeat() {
+    for (Subscription subscription : subscriptions) {
+      subscription.heartbeat();
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    heartbeats.shutdownNow();
+    for (Subscription subscription : subscriptions) {
+      subscription.emitter.complete();
+    }
+    executor.shutdown();
+  }
+
+  /** Number of open streams. */
+  public int subscribers() {
+    return open.get();
+  }
+
+  private final class Subscription {
+
+    private final SseEmitter emitter;
+    private final Set<CurrencyPair> pairs;
+
+    // Guarded by this. A null quote stands for a removed pair.
+    private final Map<CurrencyPair, Quote> pending = new LinkedHashMap<>();
+    private final Set<CurrencyPair> changed = new HashSet<>();
+    private boolean heartbeat;
+    private boolean draining;
+
+    // Confined to the draining thread.
+    private final Map<CurrencyPair, Quote> sent = new HashMap<>();
+
+    Subscription(SseEmitter emitter, Set<CurrencyPair> pairs) {
+      this.emitter = emitter;
+      this.pairs = Set.copyOf(pairs);
+    }
+
+    void offer(Quote quote) {
+      enqueue(quote.pair(), quote, false);
+    }
+
+    /**
+     * Offers the rate looked up on subscribing, unless the pair has changed since. The change was
+     * stored before it was published, so it is at least as recent as the rate looked up.
+     */
+    void offerCurrent(Quote quote) {
+      enqueue(quote.pair(), quote, true);
+    }
+
+    void remove(CurrencyPair pair) {
+      enqueue(pair, null, false);
+    }
+
+    private void enqueue(CurrencyPair pair, Quote quote, boolean current) {
+      synchronized (this) {
+        if (current) {
+          if (changed.contains(pair)) {
+            return;
+          }
+        } else {
+          changed.add(pair);
+        }
+        pending.put(pair, quote);
+        if (draining) {
+          return;
+        }
+        draining = true;
+      }
+      executor.execute(this::drain);
+    }
+
+    void heartbeat() {
+      synchronized (this) {
+        heartbeat = true;
+        if (draining) {
+          return;
+        }
+        draining = true;
+      }
+      executor.execute(this::drain);
+    }
+
+    private void drain() {
+      while (true) {
+        Map<CurrencyPair, Quote> quotes;
+        boolean sendHeartbeat;
+        synchronized (this) {
+          if (pending.isEmpty() && !heartbeat) {
+            draining = false;
+            return;
+          }
+          quotes = new LinkedHashMap<>(pending);
+          pending.clear();
+          sendHeartbeat = heartbeat;
+          heartbeat = false;
+        }
+
+        try {
+          for (Map.Entry<CurrencyPair, Quote> entry : quotes.entrySet()) {
+            Quote quote = entry.getValue();
+            if (quote == null) {
+              if (sent.remove(entry.getKey()) != null) {
+                emitter.send(
+                    SseEmitter.event()
+                        .name("removed")
+                        .data(new RateRemovedEventDTO(entry.getKey()), MediaType.APPLICATION_JSON));
+                updates.increment();
+              }
+              continue;
+            }
+            Quote last = sent.get(quote.pair());
+            if (last != null
+                && last.rate().compareTo(quote.rate()) == 0
+                && Objects.equals(last.date(), quote.date())) {
+              continue;
+            }
+            emitter.send(
+                SseEmitter.event()
+                    .name("rate")
+                    .data(new RateEventDTO(quote), MediaType.APPLICATION_JSON));
+            sent.put(quote.pair(), quote);
+            updates.increment();
+          }
+          if (sendHeartbeat) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+          }
+        } catch (IOException | IllegalStateException e) {
+          // The client went away. Draining stays set so that nothing is scheduled any more.
+          log.debug("Closing rate stream: {}", e.getMessage());
+          unsubscribe(this);
+          emitter.completeWithError(e);
+          return;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.forexconverter.stream;
+
+import com.forexconverter.rate.CurrencyPair;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class RateStreamController {
+  private final RateStream stream;
+
+  public RateStreamController(RateStream stream) {
+    this.stream = stream;
+  }
+
+  @GetMapping(value = "/convert/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream(@RequestParam List<String> pairs) {
+    Set<CurrencyPair> subscribed = new LinkedHashSet<>();
+    for (String pair : pairs) {
+      subscribed.add(parse(pair));
+    }
+    return stream.subscribe(subscribed);
+  }
+
+  private static CurrencyPair parse(String value) {
+    CurrencyPair pair = CurrencyPair.parse(value.strip());
+    if (pair == null) {
+      throw new InvalidSubscriptionException("Invalid currency pair: " + value);
+    }
+    return pair;
+  }
+}
@@ -0,0 +1,60 @@
+package com.forexconverter.stream;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "forex.stream")
+public class StreamProperties {
+
+  /** Number of open streams, beyond which new subscriptions are refused. */
+  @Min(1)
+  private int maxSubscribers = 10_000;
+
+  /** Number of currency pairs a single stream may subscribe to. */
+  @Min(1)
+  private int maxPairs = 32;
+
+  /** Time after which a stream is closed, so that the client reconnects. */
+  @NotNull private Duration timeout = Duration.ofMinutes(30);
+
+  /**
+   * Interval of the comments sent on every stream to keep idle connections open through proxies.
+   */
+  @NotNull private Duration heartbeat = Duration.ofSeconds(15);
+
+  public int maxSubscribers() {
+    return maxSubscribers;
+  }
+
+  public void setMaxSubscribers(int maxSubscribers) {
+    this.maxSubscribers = maxSubscribers;
+  }
+
+  public int maxPairs() {
+    return maxPairs;
+  }
+
+  public void setMaxPairs(int maxPairs) {
+    this.maxPairs = maxPairs;
+  }
+
+  public Duration timeout() {
+    return timeout;
+  }
+
+  public void setTimeout(Duration timeout) {
+    this.timeout = timeout;
+  }
+
+  public Duration heartbeat() {
+    return heartbeat;
+  }
+
+  public void setHeartbeat(Duration heartbeat) {
+    this.heartbeat = heartbeat;
+  }
+}
@@ -0,0 +1,7 @@
+package com.forexconverter.stream;
+
+public class SubscriberLimitException extends RuntimeException {
+  public SubscriberLimitException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,13 @@
+package com.forexconverter.swop;
+
+/**
+ * Thrown by {@link RequestBudget} when a request to Swop is not allowed.
+ *
+ * <p>No stack trace is captured, since an exhausted budget rejects every request.
+ */
+public class BudgetExhaustedException extends RuntimeException {
+
+  public BudgetExhaustedException(String message) {
+    super(message, null, false, false);
+  }
+}
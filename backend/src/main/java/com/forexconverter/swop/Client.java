@@ -1,22 +1,33 @@
 package com.forexconverter.swop;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.List;
+import java.util.function.Supplier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 
 @Component
 public class Client {
 
   private final RestClient restClient;
+  private final MeterRegistry meterRegistry;
+  private final Timers fetchRateTimers;
+  private final Timers fetchAllRatesTimers;
 
-  public Client(ClientProperties properties) {
-    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-    requestFactory.setConnectTimeout(properties.timeout());
-    requestFactory.setReadTimeout(properties.timeout());
-
+  public Client(
+      ClientProperties properties,
+      ClientHttpRequestFactory requestFactory,
+      MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.fetchRateTimers = new Timers(meterRegistry, "fetchRate");
+    this.fetchAllRatesTimers = new Timers(meterRegistry, "fetchAllRates");
     this.restClient =
         RestClient.builder()
             .baseUrl(properties.baseUrl())
@@ -26,18 +37,78 @@ public class Client {
   }
 
   public ResponseEntity<RateResponseDTO> fetchRate(String baseCurrency, String quoteCurrency) {
-    return restClient
-        .get()
-        .uri("/rest/rates/{base}/{quote}", baseCurrency, quoteCurrency)
-        .retrieve()
-        .toEntity(RateResponseDTO.class);
+    return timed(
+        fetchRateTimers,
+        () ->
+            restClient
+                .get()
+                .uri("/rest/rates/{base}/{quote}", baseCurrency, quoteCurrency)
+                .retrieve()
+                .toEntity(RateResponseDTO.class));
   }
 
   public ResponseEntity<List<RateResponseDTO>> fetchAllRates() {
-    return restClient
-        .get()
-        .uri("/rest/rates")
-        .retrieve()
-        .toEntity(new ParameterizedTypeReference<List<RateResponseDTO>>() {});
+    return timed(
+        fetchAllRatesTimers,
+        () ->
+            restClient
+                .get()
+                .uri("/rest/rates")
+                .retrieve()
+                .toEntity(new ParameterizedTypeReference<List<RateResponseDTO>>() {}));
+  }
+
+  private <T> T timed(Timers timers, Supplier<T> call) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Timer timer = timers.success;
+    try {
+      return call.get();
+    } catch (RuntimeException e) {
+      timer = timers.failure(e);
+      throw e;
+    } finally {
+      sample.stop(timer);
+    }
+  }
+
+  /** Timers of one operation by outcome, registered up front so that timing a request is cheap. */
+  private static final class Timers {
+
+    private final Timer success;
+    private final Timer clientError;
+    private final Timer serverError;
+    private final Timer unreachable;
+    private final Timer error;
+
+    Timers(MeterRegistry meterRegistry, String operation) {
+      this.success = timer(meterRegistry, operation, "success");
+      this.clientError = timer(meterRegistry, operation, "client_error");
+      this.serverError = timer(meterRegistry, operation, "server_error");
+      this.unreachable = timer(meterRegistry, operation, "unreachable");
+      this.error = timer(meterRegistry, operation, "error");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation, String outcome) {
+      return Timer.builder("swop.requests")
+          .description("Time of requests to the Swop API")
+          .tag("operation", operation)
+          .tag("outcome", outcome)
+          .publishPercentiles(0.5, 0.95, 0.99)
+          .publishPercentileHistogram()
+          .register(meterRegistry);
+    }
+
+    Timer failure(RuntimeException e) {
+      if (e instanceof HttpClientErrorException) {
+        return clientError;
+      }
+      if (e instanceof HttpServerErrorException) {
+        return serverError;
+      }
+      if (e instanceof ResourceAccessException) {
+        return unreachable;
+      }
+      return error;
+    }
   }
 }
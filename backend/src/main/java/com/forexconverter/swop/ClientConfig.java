@@ -0,0 +1,84 @@
+package com.forexconverter.swop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.net.http.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+@Configuration
+public class ClientConfig {
+
+  static final String POOL_NAME = "swop";
+
+  @Bean
+  public ClientHttpRequestFactory swopRequestFactory(
+      ClientProperties properties, MeterRegistry meterRegistry) {
+    return switch (properties.httpClient()) {
+      case SIMPLE -> simple(properties);
+      case JDK -> jdk(properties);
+      case APACHE -> apache(properties, meterRegistry);
+    };
+  }
+
+  private ClientHttpRequestFactory simple(ClientProperties properties) {
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(properties.connectTimeout());
+    requestFactory.setReadTimeout(properties.readTimeout());
+    return requestFactory;
+  }
+
+  private ClientHttpRequestFactory jdk(ClientProperties properties) {
+    HttpClient httpClient =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(properties.connectTimeout())
+            .build();
+
+    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+    requestFactory.setReadTimeout(properties.readTimeout());
+    return requestFactory;
+  }
+
+  private ClientHttpRequestFactory apache(
+      ClientProperties properties, MeterRegistry meterRegistry) {
+    Timeout connectTimeout = Timeout.of(properties.connectTimeout());
+    Timeout readTimeout = Timeout.of(properties.readTimeout());
+    PoolingHttpClientConnectionManager connectionManager =
+        PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.maxConnections())
+            .setMaxConnPerRoute(properties.maxConnections())
+            .setDefaultConnectionConfig(
+                ConnectionConfig.custom()
+                    .setConnectTimeout(connectTimeout)
+                    .setSocketTimeout(readTimeout)
+                    .build())
+            .build();
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME)
+        .bindTo(meterRegistry);
+
+    return new HttpComponentsClientHttpRequestFactory(
+        HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(
+                RequestConfig.custom()
+                    // Leasing from a saturated pool fails like a connection that cannot be made.
+                    .setConnectionRequestTimeout(connectTimeout)
+                    .setResponseTimeout(readTimeout)
+                    .build())
+            .evictIdleConnections(TimeValue.of(properties.idleEviction()))
+            .evictExpiredConnections()
+            .build());
+  }
+}
@@ -1,6 +1,9 @@
 package com.forexconverter.swop;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
@@ -9,12 +12,114 @@ import org.springframework.validation.annotation.Validated;
 @ConfigurationProperties(prefix = "swop")
 public class ClientProperties {
 
+  /** HTTP client backing the {@link Client}'s request factory. */
+  public enum HttpClient {
+    /** {@code HttpURLConnection}, without pool control. */
+    SIMPLE,
+    /** JDK {@code java.net.http.HttpClient}, negotiating HTTP/2 over TLS. */
+    JDK,
+    /** Apache HttpClient 5 with a bounded connection pool exposed as metrics. */
+    APACHE
+  }
+
+  /** What a request does when the {@link RequestBudget} is exhausted. */
+  public enum BudgetPolicy {
+    /** Waits up to {@code max-wait} for the budget to refill, and fails if it does not. */
+    QUEUE,
+    /** Fails at once. */
+    SHED
+  }
+
+  /** Budget of requests to Swop, see {@link RequestBudget}. */
+  public static class Budget {
+
+    private boolean enabled = true;
+
+    /** Requests allowed per minute, refilled evenly over the minute. */
+    @Positive private long perMinute = 100;
+
+    /** Requests allowed per day, refilled evenly over the day. */
+    @Positive private long perDay = 10000;
+
+    @NotNull private BudgetPolicy policy = BudgetPolicy.QUEUE;
+
+    /** Longest a request waits for the budget with {@link BudgetPolicy#QUEUE}. */
+    @NotNull private Duration maxWait = Duration.ofSeconds(1);
+
+    /** Requests waiting at most with {@link BudgetPolicy#QUEUE}. Further ones fail at once. */
+    @Positive private int maxQueued = 50;
+
+    public boolean enabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public long perMinute() {
+      return perMinute;
+    }
+
+    public void setPerMinute(long perMinute) {
+      this.perMinute = perMinute;
+    }
+
+    public long perDay() {
+      return perDay;
+    }
+
+    public void setPerDay(long perDay) {
+      this.perDay = perDay;
+    }
+
+    public BudgetPolicy policy() {
+      return policy;
+    }
+
+    public void setPolicy(BudgetPolicy policy) {
+      this.policy = policy;
+    }
+
+    public Duration maxWait() {
+      return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+      this.maxWait = maxWait;
+    }
+
+    public int maxQueued() {
+      return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+      this.maxQueued = maxQueued;
+    }
+  }
+
   @NotBlank private String baseUrl = "https://swop.cx";
 
   @NotBlank private String apiKey;
 
   private Duration timeout = Duration.ofMillis(1000);
 
+  /** Timeout to establish a connection, {@link #timeout} when not set. */
+  private Duration connectTimeout;
+
+  /** Timeout to wait for response data, {@link #timeout} when not set. */
+  private Duration readTimeout;
+
+  @NotNull private HttpClient httpClient = HttpClient.APACHE;
+
+  /** Maximum number of pooled connections to Swop. Applies to {@link HttpClient#APACHE}. */
+  @Positive private int maxConnections = 50;
+
+  /** Idle time after which pooled connections are evicted. Applies to {@link HttpClient#APACHE}. */
+  @NotNull private Duration idleEviction = Duration.ofSeconds(30);
+
+  @Valid @NotNull private Budget budget = new Budget();
+
   public String baseUrl() {
     return baseUrl;
   }
@@ -38,4 +143,52 @@ public class ClientProperties {
   public void setTimeout(Duration timeout) {
     this.timeout = timeout;
   }
+
+  public Duration connectTimeout() {
+    return connectTimeout != null ? connectTimeout : timeout;
+  }
+
+  public void setConnectTimeout(Duration connectTimeout) {
+    this.connectTimeout = connectTimeout;
+  }
+
+  public Duration readTimeout() {
+    return readTimeout != null ? readTimeout : timeout;
+  }
+
+  public void setReadTimeout(Duration readTimeout) {
+    this.readTimeout = readTimeout;
+  }
+
+  public HttpClient httpClient() {
+    return httpClient;
+  }
+
+  public void setHttpClient(HttpClient httpClient) {
+    this.httpClient = httpClient;
+  }
+
+  public int maxConnections() {
+    return maxConnections;
+  }
+
+  public void setMaxConnections(int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  public Duration idleEviction() {
+    return idleEviction;
+  }
+
+  public void setIdleEviction(Duration idleEviction) {
+    this.idleEviction = idleEviction;
+  }
+
+  public Budget budget() {
+    return budget;
+  }
+
+  public void setBudget(Budget budget) {
+    this.budget = budget;
+  }
 }
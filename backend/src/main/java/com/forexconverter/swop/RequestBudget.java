@@ -0,0 +1,127 @@
+package com.forexconverter.swop;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Budget of requests to Swop, so that a cold cache or a traffic spike cannot use up the quota of
+ * the plan.
+ *
+ * <p>Every request takes a token from a per-minute and a per-day bucket, each refilled evenly over
+ * its window. When either is empty, a request waits for a token with {@link
+ * ClientProperties.BudgetPolicy#QUEUE}, or fails at once with {@link
+ * ClientProperties.BudgetPolicy#SHED}. A failed request throws {@link BudgetExhaustedException},
+ * which callers handle like an unavailable provider, serving cached rates where they can.
+ */
+@Component
+public class RequestBudget {
+
+  private static final Duration MINUTE = Duration.ofMinutes(1);
+  private static final Duration DAY = Duration.ofDays(1);
+
+  private final boolean enabled;
+  private final ClientProperties.BudgetPolicy policy;
+  private final long maxWaitMillis;
+  private final int maxQueued;
+  private final Clock clock;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentMap<String, Counter> shed = new ConcurrentHashMap<>();
+
+  // Guarded by this.
+  private final TokenBucket perMinute;
+  private final TokenBucket perDay;
+
+  public RequestBudget(ClientProperties properties, Clock clock, MeterRegistry meterRegistry) {
+    ClientProperties.Budget budget = properties.budget();
+    this.enabled = budget.enabled();
+    this.policy = budget.policy();
+    this.maxWaitMillis = budget.maxWait().toMillis();
+    this.maxQueued = budget.maxQueued();
+    this.clock = clock;
+    this.meterRegistry = meterRegistry;
+    this.perMinute = new TokenBucket(budget.perMinute(), MINUTE, clock.millis());
+    this.perDay = new TokenBucket(budget.perDay(), DAY, clock.millis());
+    if (enabled) {
+      remainingGauge(meterRegistry, "minute", perMinute);
+      remainingGauge(meterRegistry, "day", perDay);
+    }
+  }
+
+  private void remainingGauge(MeterRegistry meterRegistry, String window, TokenBucket bucket) {
+    Gauge.builder("swop.budget.remaining", this, budget -> budget.remaining(bucket))
+        .description("Requests to Swop left in the budget")
+        .tag("window", window)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Takes a request from the budget, waiting for it according to the policy.
+   *
+   * @throws BudgetExhaustedException if the budget does not allow the request
+   */
+  public void acquire(String operation) {
+    if (!enabled) {
+      return;
+    }
+    long wait = tryAcquire();
+    if (wait == 0 || (policy == ClientProperties.BudgetPolicy.QUEUE && await(wait))) {
+      return;
+    }
+    shed.computeIfAbsent(
+            operation,
+            op ->
+                Counter.builder("swop.budget.shed")
+                    .description("Requests to Swop not made because the budget was exhausted")
+                    .tag("operation", op)
+                    .register(meterRegistry))
+        .increment();
+    throw new BudgetExhaustedException("Swop request budget exhausted");
+  }
+
+  /** Waits for a token as long as one can become available within the max wait. */
+  private boolean await(long wait) {
+    if (queued.incrementAndGet() > maxQueued) {
+      queued.decrementAndGet();
+      return false;
+    }
+    try {
+      long deadline = clock.millis() + maxWaitMillis;
+      while (wait > 0 && clock.millis() + wait <= deadline) {
+        Thread.sleep(wait);
+        wait = tryAcquire();
+      }
+      return wait == 0;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      queued.decrementAndGet();
+    }
+  }
+
+  /** Takes a token from both buckets, or returns the millis until both have one. */
+  private synchronized long tryAcquire() {
+    long now = clock.millis();
+    perMinute.refill(now);
+    perDay.refill(now);
+    if (perMinute.available() && perDay.available()) {
+      perMinute.take();
+      perDay.take();
+      return 0;
+    }
+    return Math.max(perMinute.millisUntilAvailable(), perDay.millisUntilAvailable());
+  }
+
+  private synchronized long remaining(TokenBucket bucket) {
+    bucket.refill(clock.millis());
+    return bucket.remaining();
+  }
+}
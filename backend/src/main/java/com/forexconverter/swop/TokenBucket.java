@@ -0,0 +1,46 @@
+package com.forexconverter.swop;
+
+import java.time.Duration;
+
+/**
+ * Bucket of up to {@code capacity} tokens, refilled evenly over {@code period}. Not thread-safe.
+ */
+final class TokenBucket {
+
+  private final long capacity;
+  private final double tokensPerMilli;
+  private double tokens;
+  private long refilledAt;
+
+  TokenBucket(long capacity, Duration period, long now) {
+    this.capacity = capacity;
+    this.tokensPerMilli = (double) capacity / period.toMillis();
+    this.tokens = capacity;
+    this.refilledAt = now;
+  }
+
+  /** Adds the tokens refilled since the last call, up to the capacity. */
+  void refill(long now) {
+    if (now > refilledAt) {
+      tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerMilli);
+      refilledAt = now;
+    }
+  }
+
+  boolean available() {
+    return tokens >= 1;
+  }
+
+  void take() {
+    tokens -= 1;
+  }
+
+  /** Returns the millis until a token is available, {@code 0} if one is. */
+  long millisUntilAvailable() {
+    return available() ? 0 : (long) Math.ceil((1 - tokens) / tokensPerMilli);
+  }
+
+  long remaining() {
+    return (long) tokens;
+  }
+}
@@ -0,0 +1,32 @@
+package com.forexconverter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+
+@SpringBootTest(properties = {"swop.api-key=test-api-key", "spring.threads.virtual.enabled=true"})
+@Tag("integration")
+class VirtualThreadsTest {
+
+  @Autowired
+  @Qualifier("applicationTaskExecutor")
+  private TaskExecutor applicationTaskExecutor;
+
+  @DisplayName("Should run @Async work and background refreshes on virtual threads when enabled")
+  @Test
+  void shouldRunTasksOnVirtualThreads() throws Exception {
+    CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+
+    applicationTaskExecutor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+
+    assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+  }
+}
@@ -0,0 +1,190 @@
+package com.forexconverter.conversion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@Tag("unit")
+class AdmissionFilterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AdmissionProperties properties = new AdmissionProperties();
+  private final List<MockHttpServletResponse> responses = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    properties.setInitialLimit(2);
+    properties.setMinLimit(1);
+  }
+
+  private static MockHttpServletRequest request(String path, String key) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+    if (key != null) {
+      request.addHeader("X-API-Key", key);
+    }
+    return request;
+  }
+
+  /** Sends the requests to the filter, each of them while the previous ones are still in flight. */
+  private void send(AdmissionFilter filter, MockHttpServletRequest... requests) throws Exception {
+    send(filter, requests, 0, (req, res) -> {}, () -> {});
+  }
+
+  /**
+   * Sends the requests from {@code index} on, the last one handled by {@code last}, and runs {@code
+   * afterLast} once it has completed while the previous ones are still in flight.
+   */
+  private void send(
+      AdmissionFilter filter,
+      MockHttpServletRequest[] requests,
+      int index,
+      FilterChain last,
+      Runnable afterLast)
+      throws IOException, ServletException {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    responses.add(response);
+    if (index == requests.length - 1) {
+      filter.doFilter(requests[index], response, last);
+      afterLast.run();
+      return;
+    }
+    FilterChain chain = (req, res) -> send(filter, requests, index + 1, last, afterLast);
+    filter.doFilter(requests[index], response, chain);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private double rejected(String reason) {
+    return meterRegistry.get("admission.rejected").tag("reason", reason).counter().count();
+  }
+
+  @DisplayName("Should shed requests past the limit with 429 and Retry-After")
+  @Test
+  void shouldShedPastLimit() throws Exception {
+    AdmissionFilter filter = new AdmissionFilter(properties, meterRegistry);
+
+    send(
+        filter,
+        request("/convert/USD-EUR", null),
+        request("/convert/USD-EUR", null),
+        request("/convert/not-a-pair", null));
+
+    assertThat(responses.get(0).getStatus()).isEqualTo(200);
+    assertThat(responses.get(1).getStatus()).isEqualTo(200);
+    MockHttpServletResponse shed = responses.get(2);
+    assertThat(shed.getStatus()).isEqualTo(429);
+    assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+    assertThat(shed.getContentAsString()).isEqualTo("{\"error\":\"Too many requests\"}");
+    assertThat(rejected("limit")).isEqualTo(1);
+    assertThat(meterRegistry.get("admission.inflight").gauge().value()).isZero();
+  }
+
+  @DisplayName("Should admit requests again once the ones in flight have completed")
+  @Test
+  void shouldAdmitAfterCompletion() throws Exception {
+    AdmissionFilter filter = new AdmissionFilter(properties, meterRegistry);
+
+    send(filter, request("/convert/USD-EUR", null), request("/convert/USD-EUR", null));
+    send(filter, request("/convert/USD-EUR", null), request("/convert/USD-EUR", null));
+
+    assertThat(responses).extracting(MockHttpServletResponse::getStatus).containsOnly(200);
+  }
+
+  @DisplayName("Should not admit rate streams or requests outside of conversions")
+  @Test
+  void shouldSkipOtherPaths() throws Exception {
+    AdmissionFilter filter = new AdmissionFilter(properties, meterRegistry);
+
+    send(
+        filter,
+        request("/convert/stream", null),
+        request("/actuator/health", null),
+        request("/convert/USD-EUR", null),
+        request("/convert/stream", null));
+
+    assertThat(responses).extracting(MockHttpServletResponse::getStatus).containsOnly(200);
+  }
+
+  @DisplayName("Should limit a single client to its share of the limit")
+  @Test
+  void shouldLimitClientShare() throws Exception {
+    properties.setInitialLimit(4);
+    properties.perKey().setEnabled(true);
+    AdmissionFilter filter = new AdmissionFilter(properties, meterRegistry);
+
+    send(
+        filter,
+        request("/convert/USD-EUR", "noisy"),
+        request("/convert/USD-EUR", "other"),
+        request("/convert/USD-EUR", null),
+        request("/convert/USD-EUR", "noisy"),
+        request("/convert/USD-EUR", "noisy"));
+
+    assertThat(responses)
+        .extracting(MockHttpServletResponse::getStatus)
+        .containsExactly(200, 200, 200, 200, 429);
+    assertThat(rejected("client")).isEqualTo(1);
+    assertThat(rejected("limit")).isZero();
+  }
+
+  @DisplayName("Should admit batches without adapting the limit to their latency")
+  @Test
+  void shouldNotSampleBatches() throws Exception {
+    properties.setInitialLimit(16);
+    properties.setMaxLimit(16);
+    properties.setSmoothing(1);
+    AdmissionFilter filter = new AdmissionFilter(properties, meterRegistry);
+    for (int i = 0; i < 20; i++) {
+      send(filter, request("/convert/USD-EUR", null));
+    }
+    MockHttpServletRequest[] requests = new MockHttpServletRequest[9];
+    for (int i = 0; i < 8; i++) {
+      requests[i] = request("/convert/USD-EUR", null);
+    }
+    requests[8] = request("/convert/batch", null);
+    double[] limitAfterBatch = new double[1];
+
+    // The batch takes far longer than the conversions while half of the limit is in use.
+    send(
+        filter,
+        requests,
+        0,
+        (req, res) -> sleep(20),
+        () -> limitAfterBatch[0] = meterRegistry.get("admission.limit").gauge().value());
+
+    assertThat(responses).extracting(MockHttpServletResponse::getStatus).containsOnly(200);
+    assertThat(limitAfterBatch[0]).isEqualTo(16);
+  }
+
+  @DisplayName("Should admit every request when disabled")
+  @Test
+  void shouldAdmitAllWhenDisabled() throws Exception {
+    properties.setEnabled(false);
+    AdmissionFilter filter = new AdmissionFilter(properties, meterRegistry);
+
+    send(
+        filter,
+        request("/convert/USD-EUR", null),
+        request("/convert/USD-EUR", null),
+        request("/convert/USD-EUR", null));
+
+    assertThat(responses).extracting(MockHttpServletResponse::getStatus).containsOnly(200);
+  }
+}
@@ -0,0 +1,169 @@
+package com.forexconverter.conversion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.forexconverter.rate.CurrencyPair;
+import com.forexconverter.rate.Provider;
+import com.forexconverter.rate.Quote;
+import com.forexconverter.rate.RateFailure;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Currency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+@Tag("unit")
+class BatchConverterTest {
+
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency GBP = Currency.getInstance("GBP");
+
+  private Provider provider;
+  private BatchConverter converter;
+
+  @BeforeEach
+  void setUp() {
+    provider = mock(Provider.class);
+    converter =
+        new BatchConverter(
+            new ConversionService(provider, new ConversionProperties(), new SimpleMeterRegistry()),
+            provider,
+            new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new SimpleMeterRegistry());
+  }
+
+  @DisplayName("BatchConverter should convert items in request order")
+  @Test
+  void shouldConvertItemsInOrder() {
+    when(provider.lookup(USD, EUR)).thenReturn(quote(USD, EUR, "0.9"));
+    when(provider.lookup(EUR, GBP)).thenReturn(quote(EUR, GBP, "0.85"));
+
+    String result =
+        convert(
+            """
+            [
+              {"from": "USD", "to": "EUR", "amount": 100},
+              {"from": "eur", "to": "gbp", "amount": 10},
+              {"from": "USD", "to": "EUR"}
+            ]
+            """);
+
+    assertThat(result).isEqualTo("[{\"result\":90.0},{\"result\":8.50},{\"result\":0.9}]");
+  }
+
+  @DisplayName("BatchConverter should resolve each distinct pair once")
+  @Test
+  void shouldResolveEachPairOnce() {
+    when(provider.lookup(USD, EUR)).thenReturn(quote(USD, EUR, "0.9"));
+    when(provider.lookup(EUR, GBP)).thenReturn(RateFailure.notFound("Rate not found"));
+
+    convert(
+        """
+        [
+          {"from": "USD", "to": "EUR", "amount": 1},
+          {"from": "EUR", "to": "GBP", "amount": 1},
+          {"from": "USD", "to": "EUR", "amount": 2},
+          {"from": "EUR", "to": "GBP", "amount": 2}
+        ]
+        """);
+
+    verify(provider, times(1)).lookup(USD, EUR);
+    verify(provider, times(1)).lookup(EUR, GBP);
+  }
+
+  @DisplayName("BatchConverter should report failures per item")
+  @Test
+  void shouldReportFailuresPerItem() {
+    when(provider.lookup(USD, EUR)).thenReturn(quote(USD, EUR, "0.9"));
+    when(provider.lookup(EUR, GBP))
+        .thenReturn(RateFailure.unavailable("Rate provider unreachable"));
+
+    String result =
+        convert(
+            """
+            [
+              {"from": "XYZ", "to": "EUR", "amount": 1},
+              {"from": "USD", "to": "EUR", "amount": -1},
+              {"from": "EUR", "to": "GBP", "amount": 1},
+              42,
+              {"from": "USD", "to": "EUR", "amount": 1}
+            ]
+            """);
+
+    assertThat(result)
+        .isEqualTo(
+            "[{\"error\":\"Invalid currency code: XYZ\"},"
+                + "{\"error\":\"Amount must be at least 0.01\"},"
+                + "{\"error\":\"Rate provider unreachable\"},"
+                + "{\"error\":\"Batch item must be an object\"},"
+                + "{\"result\":0.9}]");
+  }
+
+  @DisplayName("BatchConverter should report an item of the wrong shape in its slot only")
+  @Test
+  void shouldContinueAfterInvalidItem() {
+    when(provider.lookup(USD, EUR)).thenReturn(quote(USD, EUR, "0.9"));
+
+    String result =
+        convert(
+            """
+            [
+              {"from": "USD", "to": "EUR", "amount": 1},
+              {"from": "USD", "to": "EUR", "amount": "abc"},
+              {"from": ["USD"], "to": "EUR", "amount": 1},
+              {"from": "USD", "to": "EUR", "amount": 2}
+            ]
+            """);
+
+    assertThat(result)
+        .isEqualTo(
+            "[{\"result\":0.9},"
+                + "{\"error\":\"Invalid batch item\"},"
+                + "{\"error\":\"Invalid batch item\"},"
+                + "{\"result\":1.8}]");
+  }
+
+  @DisplayName("BatchConverter should end the batch at a malformed item")
+  @Test
+  void shouldEndBatchAtMalformedItem() {
+    when(provider.lookup(USD, EUR)).thenReturn(quote(USD, EUR, "0.9"));
+
+    String result = convert("[{\"from\": \"USD\", \"to\": \"EUR\", \"amount\": 1}, {\"from\": ");
+
+    assertThat(result).isEqualTo("[{\"result\":0.9},{\"error\":\"Malformed batch item\"}]");
+  }
+
+  @DisplayName("BatchConverter should reject a body that is not a JSON array")
+  @Test
+  void shouldRejectNonArrayBody() {
+    assertThatThrownBy(() -> convert("{\"from\": \"USD\"}"))
+        .isInstanceOf(InvalidBatchException.class)
+        .hasMessage("Request body must be a JSON array");
+  }
+
+  private static Quote quote(Currency from, Currency to, String rate) {
+    return new Quote(
+        new CurrencyPair(from, to), new BigDecimal(rate), LocalDate.of(2026, 2, 15), 0);
+  }
+
+  private String convert(String body) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    converter.convert(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output);
+    return output.toString(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,116 @@
+package com.forexconverter.conversion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class ConcurrencyLimitTest {
+
+  private static final long FAST = Duration.ofMillis(10).toNanos();
+  private static final long SLOW = Duration.ofMillis(100).toNanos();
+
+  private final AdmissionProperties properties = new AdmissionProperties();
+
+  @BeforeEach
+  void setUp() {
+    properties.setInitialLimit(20);
+    properties.setMinLimit(5);
+    properties.setMaxLimit(100);
+  }
+
+  /** Keeps the limit saturated and completes requests with the given latency. */
+  private static void saturate(ConcurrencyLimit limit, long rttNanos, int responses) {
+    for (int i = 0; i < responses; i++) {
+      while (limit.tryAcquire()) {}
+      limit.release(rttNanos, true);
+    }
+  }
+
+  @DisplayName("Should refuse requests past the limit until one completes")
+  @Test
+  void shouldRefusePastLimit() {
+    properties.setInitialLimit(2);
+    properties.setMinLimit(1);
+    ConcurrencyLimit limit = new ConcurrencyLimit(properties);
+
+    assertThat(limit.tryAcquire()).isTrue();
+    assertThat(limit.tryAcquire()).isTrue();
+    assertThat(limit.tryAcquire()).isFalse();
+    assertThat(limit.inFlight()).isEqualTo(2);
+
+    limit.release(FAST, false);
+
+    assertThat(limit.tryAcquire()).isTrue();
+  }
+
+  @DisplayName("Should raise the limit while latency stays the same, up to the maximum")
+  @Test
+  void shouldRaiseLimitWhileLatencyHolds() {
+    ConcurrencyLimit limit = new ConcurrencyLimit(properties);
+
+    saturate(limit, FAST, 20);
+    assertThat(limit.limit()).isGreaterThan(20);
+
+    saturate(limit, FAST, 1000);
+    assertThat(limit.limit()).isEqualTo(100);
+  }
+
+  @DisplayName("Should lower the limit when latency rises, down to the minimum")
+  @Test
+  void shouldLowerLimitWhenLatencyRises() {
+    ConcurrencyLimit limit = new ConcurrencyLimit(properties);
+    saturate(limit, FAST, 50);
+    int steady = limit.limit();
+
+    saturate(limit, SLOW, 5);
+
+    assertThat(limit.limit()).isLessThan(steady);
+  }
+
+  @DisplayName("Should not lower the limit below the minimum while latency keeps rising")
+  @Test
+  void shouldKeepMinimumLimit() {
+    ConcurrencyLimit limit = new ConcurrencyLimit(properties);
+    double rtt = FAST;
+
+    for (int i = 0; i < 200; i++) {
+      rtt *= 1.1;
+      saturate(limit, (long) rtt, 1);
+    }
+
+    assertThat(limit.limit()).isEqualTo(5);
+  }
+
+  @DisplayName("Should not raise the limit while far fewer requests are in flight")
+  @Test
+  void shouldNotRaiseLimitWhenUnderused() {
+    ConcurrencyLimit limit = new ConcurrencyLimit(properties);
+
+    for (int i = 0; i < 100; i++) {
+      limit.tryAcquire();
+      limit.release(FAST, true);
+    }
+
+    assertThat(limit.limit()).isEqualTo(20);
+  }
+
+  @DisplayName("Should ignore the latency of requests that are not sampled")
+  @Test
+  void shouldIgnoreUnsampledRequests() {
+    ConcurrencyLimit limit = new ConcurrencyLimit(properties);
+    saturate(limit, FAST, 50);
+    int steady = limit.limit();
+
+    for (int i = 0; i < 20; i++) {
+      limit.release(SLOW, false);
+      limit.tryAcquire();
+    }
+
+    assertThat(limit.limit()).isEqualTo(steady);
+  }
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -128,4 +129,17 @@ class ConversionControllerIntegrationTest {
     assertThat(response.statusCode()).isEqualTo(200);
     assertThat(response.body()).contains("\"result\":" + expectedResult);
   }
+
+  // -- Probes --
+
+  @DisplayName("Should report readiness together with the rate cache state")
+  @Test
+  void shouldReportReadiness() throws Exception {
+    HttpRequest request =
+        HttpRequest.newBuilder().uri(URI.create(url("/actuator/health/readiness"))).GET().build();
+    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+    assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+    assertThat(response.body()).contains("\"rateCache\"").contains("\"pairs\":0");
+  }
 }
@@ -1,18 +1,34 @@
 package com.forexconverter.conversion;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.forexconverter.rate.CurrencyPair;
+import com.forexconverter.rate.Provider;
+import com.forexconverter.rate.RateFailure;
+import com.forexconverter.rate.RateHistory;
+import com.forexconverter.rate.RateVersion;
+import com.forexconverter.rate.RatesChangedEvent;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Currency;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -25,6 +41,10 @@ class ConversionControllerTest {
 
   @MockitoBean private ConversionService conversionService;
 
+  @MockitoBean private RateHistory rateHistory;
+
+  @Autowired private RateVersion rateVersion;
+
   @DisplayName("ConversionController should return 200 with result")
   @Test
   void shouldReturnConversionResult() throws Exception {
@@ -32,11 +52,12 @@ class ConversionControllerTest {
     Currency eur = Currency.getInstance("EUR");
 
     when(conversionService.convert(usd, eur, new BigDecimal("100")))
-        .thenReturn(new BigDecimal("92.50"));
+        .thenReturn(new Conversion(new BigDecimal("92.50"), null));
 
     mockMvc
         .perform(get("/convert/USD-EUR").param("amount", "100"))
         .andExpect(status().isOk())
+        .andExpect(header().longValue("Content-Length", "{\"result\":92.50}".length()))
         .andExpect(jsonPath("$.result").value(92.5));
   }
 
@@ -46,18 +67,192 @@ class ConversionControllerTest {
     Currency usd = Currency.getInstance("USD");
     Currency eur = Currency.getInstance("EUR");
 
-    when(conversionService.convert(usd, eur, null)).thenReturn(new BigDecimal("0.9250"));
+    when(conversionService.convert(usd, eur, null))
+        .thenReturn(new Conversion(new BigDecimal("0.9250"), null));
+
+    mockMvc
+        .perform(get("/convert/USD-EUR"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.result").value(0.925));
+  }
+
+  @DisplayName("ConversionController should report the date of a stale rate")
+  @Test
+  void shouldReturnStaleRateDate() throws Exception {
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+
+    when(conversionService.convert(usd, eur, null))
+        .thenReturn(new Conversion(new BigDecimal("0.9250"), LocalDate.of(2026, 2, 15)));
 
     mockMvc
         .perform(get("/convert/USD-EUR"))
         .andExpect(status().isOk())
+        .andExpect(jsonPath("$.result").value(0.925))
+        .andExpect(jsonPath("$.staleRateDate").value("2026-02-15"));
+  }
+
+  @DisplayName("ConversionController should return the rate version and its freshness")
+  @Test
+  void shouldReturnCacheHeaders() throws Exception {
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+
+    when(conversionService.convert(usd, eur, new BigDecimal("100")))
+        .thenReturn(new Conversion(new BigDecimal("92.50"), null));
+
+    mockMvc
+        .perform(get("/convert/USD-EUR").param("amount", "100"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", rateVersion.etag()))
+        .andExpect(
+            header()
+                .string(
+                    "Cache-Control",
+                    "max-age=" + rateVersion.untilRefresh().toSeconds() + ", public"));
+  }
+
+  @DisplayName("ConversionController should return 304 without converting for the current version")
+  @Test
+  void shouldReturnNotModified() throws Exception {
+    mockMvc
+        .perform(
+            get("/convert/USD-EUR")
+                .param("amount", "100")
+                .header("If-None-Match", rateVersion.etag()))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", rateVersion.etag()))
+        .andExpect(header().exists("Cache-Control"))
+        .andExpect(content().string(""));
+
+    verifyNoInteractions(conversionService);
+  }
+
+  @DisplayName("ConversionController should convert again once the rates have changed")
+  @Test
+  void shouldConvertForPreviousVersion() throws Exception {
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+    String previous = rateVersion.etag();
+    rateVersion.onRatesChanged(
+        new RatesChangedEvent(List.of(), List.of(), List.of(new CurrencyPair(usd, eur))));
+
+    when(conversionService.convert(usd, eur, null))
+        .thenReturn(new Conversion(new BigDecimal("0.9250"), null));
+
+    mockMvc
+        .perform(get("/convert/USD-EUR").header("If-None-Match", previous))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", rateVersion.etag()))
         .andExpect(jsonPath("$.result").value(0.925));
   }
 
+  @DisplayName("ConversionController should require revalidation of a stale rate")
+  @Test
+  void shouldNotCacheStaleRate() throws Exception {
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+
+    when(conversionService.convert(usd, eur, null))
+        .thenReturn(new Conversion(new BigDecimal("0.9250"), LocalDate.of(2026, 2, 15)));
+
+    mockMvc
+        .perform(get("/convert/USD-EUR"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Cache-Control", "no-cache"));
+  }
+
+  @DisplayName("ConversionController should omit the stale rate date for fresh rates")
+  @Test
+  void shouldOmitStaleRateDateForFreshRate() throws Exception {
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+
+    when(conversionService.convert(usd, eur, null))
+        .thenReturn(new Conversion(new BigDecimal("0.9250"), null));
+
+    mockMvc
+        .perform(get("/convert/USD-EUR"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.staleRateDate").doesNotExist());
+  }
+
+  @DisplayName("ConversionController should convert at the rates of a past date")
+  @Test
+  void shouldConvertAtPastDate() throws Exception {
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+    Provider historical = mock(Provider.class);
+
+    when(rateHistory.at(LocalDate.of(2026, 2, 15))).thenReturn(historical);
+    when(conversionService.convert(usd, eur, new BigDecimal("100"), historical))
+        .thenReturn(new Conversion(new BigDecimal("91.00"), null));
+
+    mockMvc
+        .perform(get("/convert/USD-EUR").param("amount", "100").param("date", "2026-02-15"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.result").value(91.0));
+  }
+
+  @DisplayName("ConversionController should return 400 for an invalid date")
+  @Test
+  void shouldReturn400ForInvalidDate() throws Exception {
+    mockMvc
+        .perform(get("/convert/USD-EUR").param("date", "15.02.2026"))
+        .andExpect(status().isBadRequest());
+  }
+
   @DisplayName("ConversionController should return 400 for invalid currency code")
   @Test
   void shouldReturn400ForInvalidCurrencyCode() throws Exception {
-    mockMvc.perform(get("/convert/XYZ-EUR")).andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get("/convert/XYZ-EUR"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Invalid currency code: XYZ"));
+    verifyNoInteractions(conversionService);
+  }
+
+  @DisplayName("ConversionController should return 400 for a malformed currency pair")
+  @Test
+  void shouldReturn400ForMalformedPair() throws Exception {
+    mockMvc
+        .perform(get("/convert/USD-EUR-GBP"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Invalid currency code: USD-EUR"));
+    verifyNoInteractions(conversionService);
+  }
+
+  @DisplayName("ConversionController should return 404 when the rate is not found")
+  @Test
+  void shouldReturn404ForRateNotFound() throws Exception {
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+
+    when(conversionService.convert(usd, eur, null))
+        .thenReturn(new ConversionFailure(RateFailure.notFound("Rate not found")));
+
+    mockMvc
+        .perform(get("/convert/USD-EUR"))
+        .andExpect(status().isNotFound())
+        .andExpect(header().doesNotExist("ETag"))
+        .andExpect(header().doesNotExist("Cache-Control"))
+        .andExpect(jsonPath("$.error").value("Rate not found"));
+  }
+
+  @DisplayName("ConversionController should return 500 when the provider is unavailable")
+  @Test
+  void shouldReturn500ForUnavailableProvider() throws Exception {
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+
+    when(conversionService.convert(usd, eur, null))
+        .thenReturn(new ConversionFailure(RateFailure.unavailable("Rate provider unreachable")));
+
+    mockMvc
+        .perform(get("/convert/USD-EUR"))
+        .andExpect(status().isInternalServerError())
+        .andExpect(header().doesNotExist("ETag"))
+        .andExpect(jsonPath("$.error").value("Rate provider unreachable"));
   }
 
   @DisplayName("ConversionController should return 400 for invalid amount")
@@ -75,7 +270,7 @@ class ConversionControllerTest {
     Currency eur = Currency.getInstance("EUR");
 
     when(conversionService.convert(usd, eur, new BigDecimal("100")))
-        .thenReturn(new BigDecimal("92.50"));
+        .thenReturn(new Conversion(new BigDecimal("92.50"), null));
 
     mockMvc
         .perform(get("/convert/usd-eur").param("amount", "100"))
@@ -90,11 +285,45 @@ class ConversionControllerTest {
     Currency eur = Currency.getInstance("EUR");
 
     when(conversionService.convert(usd, eur, new BigDecimal("100")))
-        .thenReturn(new BigDecimal("92.50"));
+        .thenReturn(new Conversion(new BigDecimal("92.50"), null));
 
     mockMvc
         .perform(get("/convert/Usd-EuR").param("amount", "100"))
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.result").value(92.5));
   }
+
+  @DisplayName("ConversionController should stream batch results in request order")
+  @Test
+  void shouldConvertBatch() throws Exception {
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+
+    when(conversionService.convert(eq(usd), eq(eur), eq(new BigDecimal("100")), any()))
+        .thenReturn(new Conversion(new BigDecimal("92.50"), null));
+
+    mockMvc
+        .perform(
+            post("/convert/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    """
+                    [{"from": "USD", "to": "EUR", "amount": 100}, {"from": "XYZ", "to": "EUR"}]
+                    """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].result").value(92.5))
+        .andExpect(jsonPath("$[1].error").exists());
+  }
+
+  @DisplayName("ConversionController should return 400 when the batch is not an array")
+  @Test
+  void shouldReturn400ForInvalidBatch() throws Exception {
+    mockMvc
+        .perform(
+            post("/convert/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"from\": \"USD\"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Request body must be a JSON array"));
+  }
 }
@@ -1,12 +1,19 @@
 package com.forexconverter.conversion;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.forexconverter.rate.CurrencyPair;
 import com.forexconverter.rate.Provider;
+import com.forexconverter.rate.ProviderRateNotFoundException;
+import com.forexconverter.rate.Quote;
+import com.forexconverter.rate.RateFailure;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Currency;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -15,18 +22,23 @@ import org.junit.jupiter.api.Test;
 @Tag("unit")
 class ConversionServiceTest {
 
+  private static final LocalDate RATE_DATE = LocalDate.of(2026, 2, 15);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ConversionProperties properties = new ConversionProperties();
+
   @DisplayName("ConversionService should multiply amount by rate")
   @Test
   void shouldConvertWithAmount() {
     Provider mockProvider = mock(Provider.class);
     Currency usd = Currency.getInstance("USD");
     Currency eur = Currency.getInstance("EUR");
-    when(mockProvider.getRate(usd, eur)).thenReturn(new BigDecimal("0.9250"));
-    ConversionService service = new ConversionService(mockProvider);
+    when(mockProvider.lookup(usd, eur)).thenReturn(quote(usd, eur, "0.9250"));
+    ConversionService service = new ConversionService(mockProvider, properties, meterRegistry);
 
-    BigDecimal result = service.convert(usd, eur, new BigDecimal("100"));
+    Conversion result = service.convert(usd, eur, new BigDecimal("100")).orElseThrow();
 
-    assertThat(result).isEqualByComparingTo(new BigDecimal("92.50"));
+    assertThat(result.result()).isEqualByComparingTo(new BigDecimal("92.50"));
   }
 
   @DisplayName("ConversionService should return rate only when amount is not provided")
@@ -35,24 +47,25 @@ class ConversionServiceTest {
     Provider mockProvider = mock(Provider.class);
     Currency usd = Currency.getInstance("USD");
     Currency eur = Currency.getInstance("EUR");
-    when(mockProvider.getRate(usd, eur)).thenReturn(new BigDecimal("0.9250"));
-    ConversionService service = new ConversionService(mockProvider);
+    when(mockProvider.lookup(usd, eur)).thenReturn(quote(usd, eur, "0.9250"));
+    ConversionService service = new ConversionService(mockProvider, properties, meterRegistry);
 
-    BigDecimal result = service.convert(usd, eur, null);
+    Conversion result = service.convert(usd, eur, null).orElseThrow();
 
-    assertThat(result).isEqualByComparingTo(new BigDecimal("0.9250"));
+    assertThat(result.result()).isEqualByComparingTo(new BigDecimal("0.9250"));
   }
 
   @DisplayName("ConversionService should return amount when provided currencies are the same")
   @Test
   void shouldReturnAmountForSameCurrencyWithAmount() {
     Provider mockProvider = mock(Provider.class);
-    ConversionService service = new ConversionService(mockProvider);
+    ConversionService service = new ConversionService(mockProvider, properties, meterRegistry);
     Currency usd = Currency.getInstance("USD");
 
-    BigDecimal result = service.convert(usd, usd, new BigDecimal("100"));
+    Conversion result = service.convert(usd, usd, new BigDecimal("100")).orElseThrow();
 
-    assertThat(result).isEqualByComparingTo(new BigDecimal("100"));
+    assertThat(result.result()).isEqualByComparingTo(new BigDecimal("100"));
+    assertThat(result.staleRateDate()).isNull();
     verifyNoInteractions(mockProvider);
   }
 
@@ -61,12 +74,100 @@ class ConversionServiceTest {
   @Test
   void shouldReturnOneForSameCurrencyWithoutAmount() {
     Provider mockProvider = mock(Provider.class);
-    ConversionService service = new ConversionService(mockProvider);
+    ConversionService service = new ConversionService(mockProvider, properties, meterRegistry);
     Currency usd = Currency.getInstance("USD");
 
-    BigDecimal result = service.convert(usd, usd, null);
+    Conversion result = service.convert(usd, usd, null).orElseThrow();
 
-    assertThat(result).isEqualByComparingTo(BigDecimal.ONE);
+    assertThat(result.result()).isEqualByComparingTo(BigDecimal.ONE);
+    assertThat(result.staleRateDate()).isNull();
     verifyNoInteractions(mockProvider);
   }
+
+  @DisplayName("ConversionService should report the date of a stale rate")
+  @Test
+  void shouldReportStaleRateDate() {
+    Provider mockProvider = mock(Provider.class);
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+    when(mockProvider.lookup(usd, eur)).thenReturn(quote(usd, eur, "0.9250").asStale());
+    ConversionService service = new ConversionService(mockProvider, properties, meterRegistry);
+
+    Conversion result = service.convert(usd, eur, new BigDecimal("100")).orElseThrow();
+
+    assertThat(result.result()).isEqualByComparingTo(new BigDecimal("92.50"));
+    assertThat(result.staleRateDate()).isEqualTo(RATE_DATE);
+  }
+
+  @DisplayName("ConversionService should time conversions by outcome")
+  @Test
+  void shouldRecordConversionDuration() {
+    Provider mockProvider = mock(Provider.class);
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+    when(mockProvider.lookup(usd, eur)).thenReturn(quote(usd, eur, "0.9250"));
+    when(mockProvider.lookup(eur, usd)).thenReturn(RateFailure.unavailable("Provider down"));
+    ConversionService service = new ConversionService(mockProvider, properties, meterRegistry);
+
+    service.convert(usd, eur, new BigDecimal("100"));
+    assertThat(service.convert(eur, usd, null))
+        .isEqualTo(new ConversionFailure(RateFailure.unavailable("Provider down")));
+
+    assertThat(meterRegistry.get("conversion.duration").tag("outcome", "success").timer().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("conversion.duration").tag("outcome", "error").timer().count())
+        .isEqualTo(1);
+  }
+
+  @DisplayName("ConversionService should throw the exception of a failure on request")
+  @Test
+  void shouldThrowFailureOnRequest() {
+    Provider mockProvider = mock(Provider.class);
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+    when(mockProvider.lookup(usd, eur)).thenReturn(RateFailure.notFound("Rate not found"));
+    ConversionService service = new ConversionService(mockProvider, properties, meterRegistry);
+
+    assertThatThrownBy(() -> service.convert(usd, eur, null).orElseThrow())
+        .isInstanceOf(ProviderRateNotFoundException.class)
+        .hasMessage("Rate not found");
+  }
+
+  @DisplayName("ConversionService should round fixed-point results to the configured scale")
+  @Test
+  void shouldRoundFixedPointResult() {
+    properties.setArithmetic(ConversionProperties.Arithmetic.FIXED_POINT);
+    properties.setScale(4);
+    Provider mockProvider = mock(Provider.class);
+    Currency usd = Currency.getInstance("USD");
+    Currency eur = Currency.getInstance("EUR");
+    when(mockProvider.lookup(usd, eur)).thenReturn(quote(usd, eur, "0.926524"));
+    ConversionService service = new ConversionService(mockProvider, properties, meterRegistry);
+
+    Conversion result = service.convert(usd, eur, new BigDecimal("1234.56")).orElseThrow();
+
+    assertThat(result.result()).isEqualTo(new BigDecimal("1143.8495"));
+    assertThat(meterRegistry.get("conversion.fixed.point.fallbacks").counter().count()).isZero();
+  }
+
+  @DisplayName("ConversionService should fall back to BigDecimal when fixed-point overflows")
+  @Test
+  void shouldFallBackOnFixedPointOverflow() {
+    properties.setArithmetic(ConversionProperties.Arithmetic.FIXED_POINT);
+    Provider mockProvider = mock(Provider.class);
+    Currency usd = Currency.getInstance("USD");
+    Currency jpy = Currency.getInstance("JPY");
+    when(mockProvider.lookup(usd, jpy)).thenReturn(quote(usd, jpy, "9876.123456789012"));
+    ConversionService service = new ConversionService(mockProvider, properties, meterRegistry);
+
+    Conversion result = service.convert(usd, jpy, new BigDecimal("99999999999.99")).orElseThrow();
+
+    assertThat(result.result()).isEqualTo(new BigDecimal("987612345678802.43876543"));
+    assertThat(meterRegistry.get("conversion.fixed.point.fallbacks").counter().count())
+        .isEqualTo(1);
+  }
+
+  private static Quote quote(Currency from, Currency to, String rate) {
+    return new Quote(new CurrencyPair(from, to), new BigDecimal(rate), RATE_DATE, 0);
+  }
 }
@@ -0,0 +1,115 @@
+package com.forexconverter.conversion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.Tag;
+import net.jqwik.api.constraints.IntRange;
+
+@Tag("unit")
+class FixedPointTest {
+
+  private static final BigDecimal MIN_RATE = new BigDecimal("0.0001");
+  private static final BigDecimal MAX_RATE = new BigDecimal("10000");
+  private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+  private static final BigDecimal MAX_AMOUNT = new BigDecimal("100000000000");
+  private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+  private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+  @Provide
+  Arbitrary<BigDecimal> rates() {
+    return decimals(MIN_RATE, MAX_RATE, 12);
+  }
+
+  @Provide
+  Arbitrary<BigDecimal> amounts() {
+    return decimals(MIN_AMOUNT, MAX_AMOUNT, 2);
+  }
+
+  @Provide
+  Arbitrary<BigDecimal> anyDecimals() {
+    return Combinators.combine(
+            Arbitraries.longs().filter(v -> v != Long.MIN_VALUE),
+            Arbitraries.integers().between(-20, 20))
+        .as(BigDecimal::valueOf);
+  }
+
+  @Provide
+  Arbitrary<RoundingMode> roundingModes() {
+    return Arbitraries.of(RoundingMode.class).filter(mode -> mode != RoundingMode.UNNECESSARY);
+  }
+
+  /** Decimals between {@code min} and {@code max} with up to {@code maxScale} fraction digits. */
+  private static Arbitrary<BigDecimal> decimals(BigDecimal min, BigDecimal max, int maxScale) {
+    return Arbitraries.integers()
+        .between(0, maxScale)
+        .flatMap(
+            scale ->
+                Arbitraries.longs()
+                    .between(
+                        min.movePointRight(scale)
+                            .setScale(0, RoundingMode.CEILING)
+                            .longValueExact(),
+                        max.movePointRight(scale).longValueExact())
+                    .map(unscaled -> BigDecimal.valueOf(unscaled, scale)));
+  }
+
+  @Property(tries = 5000)
+  void shouldMatchBigDecimalForConversions(
+      @ForAll("rates") BigDecimal rate,
+      @ForAll("amounts") BigDecimal amount,
+      @ForAll @IntRange(min = 0, max = 18) int scale,
+      @ForAll("roundingModes") RoundingMode roundingMode) {
+    BigDecimal result = multiply(rate, amount, scale, roundingMode);
+
+    BigDecimal exact = rate.multiply(amount);
+    if (fitsLong(exact.unscaledValue())) {
+      assertThat(result).isNotNull();
+    }
+    if (result != null) {
+      assertThat(result).isEqualTo(rounded(exact, scale, roundingMode));
+    }
+  }
+
+  @Property(tries = 5000)
+  void shouldMatchBigDecimalOrReportOverflow(
+      @ForAll("anyDecimals") BigDecimal a,
+      @ForAll("anyDecimals") BigDecimal b,
+      @ForAll @IntRange(min = 0, max = 18) int scale,
+      @ForAll("roundingModes") RoundingMode roundingMode) {
+    BigDecimal result = multiply(a, b, scale, roundingMode);
+
+    if (!fitsLong(a.unscaledValue().multiply(b.unscaledValue()))) {
+      assertThat(result).isNull();
+    } else if (result != null) {
+      assertThat(result).isEqualTo(rounded(a.multiply(b), scale, roundingMode));
+    }
+  }
+
+  private static BigDecimal multiply(
+      BigDecimal a, BigDecimal b, int scale, RoundingMode roundingMode) {
+    return FixedPoint.multiply(
+        a.unscaledValue().longValueExact(),
+        a.scale(),
+        b.unscaledValue().longValueExact(),
+        b.scale(),
+        scale,
+        roundingMode);
+  }
+
+  private static BigDecimal rounded(BigDecimal exact, int scale, RoundingMode roundingMode) {
+    return exact.scale() > scale ? exact.setScale(scale, roundingMode) : exact;
+  }
+
+  private static boolean fitsLong(BigInteger value) {
+    return value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0;
+  }
+}
@@ -0,0 +1,71 @@
+package com.forexconverter.conversion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import tools.jackson.databind.ObjectMapper;
+
+@Tag("unit")
+class ResponseDTOHttpMessageConverterTest {
+
+  private final ResponseDTOHttpMessageConverter converter = new ResponseDTOHttpMessageConverter();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private static Stream<ResponseDTO> responses() {
+    return Stream.of(
+        new SuccessResponseDTO(new BigDecimal("107.9301")),
+        new SuccessResponseDTO(BigDecimal.ONE),
+        new SuccessResponseDTO(new BigDecimal("0.000000123")),
+        new SuccessResponseDTO(new BigDecimal("1E+3")),
+        new SuccessResponseDTO(new BigDecimal("92.50"), LocalDate.of(2026, 2, 5)),
+        new SuccessResponseDTO(null, null),
+        new ErrorResponseDTO("Rate not found"),
+        new ErrorResponseDTO("Invalid currency code: \"X\\Y\"\n\t\u0001"),
+        new ErrorResponseDTO("Währung € 💱"),
+        new ErrorResponseDTO("x".repeat(2000)),
+        new ErrorResponseDTO(null));
+  }
+
+  @DisplayName("Should write the same JSON as Jackson")
+  @ParameterizedTest
+  @MethodSource("responses")
+  void shouldMatchJackson(ResponseDTO response) throws IOException {
+    MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+    converter.write(response, MediaType.APPLICATION_JSON, message);
+
+    assertThat(message.getBodyAsString(StandardCharsets.UTF_8))
+        .isEqualTo(objectMapper.writeValueAsString(response));
+  }
+
+  @DisplayName("Should set the content type and length")
+  @Test
+  void shouldSetHeaders() throws IOException {
+    MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+    converter.write(new SuccessResponseDTO(BigDecimal.ONE), null, message);
+
+    assertThat(message.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    assertThat(message.getHeaders().getContentLength()).isEqualTo("{\"result\":1}".length());
+  }
+
+  @DisplayName("Should only write the conversion responses")
+  @Test
+  void shouldOnlyWriteResponses() {
+    assertThat(converter.canWrite(SuccessResponseDTO.class, MediaType.APPLICATION_JSON)).isTrue();
+    assertThat(converter.canWrite(ErrorResponseDTO.class, MediaType.APPLICATION_JSON)).isTrue();
+    assertThat(converter.canWrite(BatchItemDTO.class, MediaType.APPLICATION_JSON)).isFalse();
+    assertThat(converter.canRead(SuccessResponseDTO.class, MediaType.APPLICATION_JSON)).isFalse();
+  }
+}
@@ -2,6 +2,8 @@ package com.forexconverter.rate;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Currency;
 import org.junit.jupiter.api.Test;
 import org.springframework.cache.CacheManager;
 
@@ -10,9 +12,87 @@ class CacheConfigTest {
   @Test
   void shouldDefineExchangeRatesCache() {
     CacheConfig cacheConfig = new CacheConfig();
-    CacheManager cacheManager = cacheConfig.cacheManager();
+    CacheManager cacheManager = cacheConfig.cacheManager(new CacheProperties());
 
     assertNotNull(cacheManager);
     assertTrue(cacheManager.getCacheNames().contains("exchangeRates"));
   }
+
+  @Test
+  void shouldHoldEveryPairOfKnownCurrenciesByDefault() {
+    CacheManager cacheManager = new CacheConfig().cacheManager(new CacheProperties());
+
+    assertEquals(CurrencyIndex.SIZE * CurrencyIndex.SIZE, maximumSize(cacheManager));
+  }
+
+  @Test
+  void shouldLimitCacheToConfiguredSize() {
+    CacheProperties properties = new CacheProperties();
+    properties.setMaxSize(1000);
+
+    assertEquals(1000, maximumSize(new CacheConfig().cacheManager(properties)));
+  }
+
+  private static long maximumSize(CacheManager cacheManager) {
+    return ((com.github.benmanes.caffeine.cache.Cache<?, ?>)
+            cacheManager.getCache("exchangeRates").getNativeCache())
+        .policy()
+        .eviction()
+        .orElseThrow()
+        .getMaximum();
+  }
+
+  @Test
+  void shouldBackRateStoreWithMatrixByDefault() {
+    CacheConfig cacheConfig = new CacheConfig();
+
+    RateStore store =
+        cacheConfig.rateStore(
+            cacheConfig.cacheManager(new CacheProperties()), new CacheProperties());
+
+    assertInstanceOf(MatrixRateStore.class, store);
+  }
+
+  @Test
+  void shouldBackRateStoreWithCaffeineWhenConfigured() {
+    CacheConfig cacheConfig = new CacheConfig();
+    CacheProperties properties = new CacheProperties();
+    properties.setStore(CacheProperties.Store.CAFFEINE);
+
+    RateStore store =
+        cacheConfig.rateStore(cacheConfig.cacheManager(new CacheProperties()), properties);
+
+    assertInstanceOf(CaffeineRateStore.class, store);
+  }
+
+  @Test
+  void shouldExposeRateCacheMetrics() {
+    CacheConfig cacheConfig = new CacheConfig();
+    CacheManager cacheManager = cacheConfig.cacheManager(new CacheProperties());
+    CacheProperties properties = new CacheProperties();
+    properties.setStore(CacheProperties.Store.CAFFEINE);
+    RateStore store = cacheConfig.rateStore(cacheManager, properties);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    cacheConfig.rateCacheMetrics(store, cacheManager).bindTo(registry);
+    store.get(Currency.getInstance("USD"), Currency.getInstance("EUR"));
+
+    assertEquals(0, registry.get("rate.store.size").gauge().value());
+    assertEquals(0, registry.get("cache.hit.ratio").tag("cache", "exchangeRates").gauge().value());
+  }
+
+  @Test
+  void shouldExposeStoreSizeForMatrixStore() {
+    CacheConfig cacheConfig = new CacheConfig();
+    CacheManager cacheManager = cacheConfig.cacheManager(new CacheProperties());
+    CacheProperties properties = new CacheProperties();
+    properties.setStore(CacheProperties.Store.MATRIX);
+    RateStore store = cacheConfig.rateStore(cacheManager, properties);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    cacheConfig.rateCacheMetrics(store, cacheManager).bindTo(registry);
+
+    assertNotNull(registry.find("rate.store.size").tag("store", "MatrixRateStore").gauge());
+    assertNull(registry.find("cache.hit.ratio").gauge());
+  }
 }
@@ -0,0 +1,43 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@TestPropertySource(
+    properties = {
+      "swop.api-key=test-key",
+      "forex.cache.soft-ttl=1h",
+      "forex.cache.hard-ttl=2h",
+      "forex.cache.fallback-max-age=3d",
+      "forex.cache.warmup.start-degraded=false",
+      "forex.cache.snapshot.path=/var/lib/forex/rates.snapshot"
+    })
+class CachePropertiesTest {
+
+  @Autowired private CacheProperties properties;
+
+  @Test
+  void shouldBindTtls() {
+    assertThat(properties.softTtl()).isEqualTo(Duration.ofHours(1));
+    assertThat(properties.hardTtl()).isEqualTo(Duration.ofHours(2));
+    assertThat(properties.fallbackMaxAge()).isEqualTo(Duration.ofDays(3));
+  }
+
+  @Test
+  void shouldBindWarmup() {
+    assertThat(properties.warmup().enabled()).isFalse();
+    assertThat(properties.warmup().startDegraded()).isFalse();
+  }
+
+  @Test
+  void shouldBindSnapshotPath() {
+    assertThat(properties.snapshot().path()).isEqualTo(Path.of("/var/lib/forex/rates.snapshot"));
+  }
+}
@@ -0,0 +1,46 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+@Tag("unit")
+class CircuitBreakerHealthIndicatorTest {
+
+  @DisplayName("Should report the breaker state and stay up while it is open")
+  @Test
+  void shouldReportState() {
+    CircuitBreakerProperties properties = new CircuitBreakerProperties();
+    properties.setMinimumCalls(1);
+    CircuitBreaker breaker =
+        new CircuitBreaker(
+            "swop", properties, Clock.systemUTC(), e -> true, new SimpleMeterRegistry());
+    CircuitBreakerHealthIndicator indicator = new CircuitBreakerHealthIndicator(breaker);
+
+    assertThat(indicator.health().getDetails())
+        .containsEntry("state", CircuitBreaker.State.CLOSED)
+        .doesNotContainKey("degraded");
+
+    try {
+      breaker.execute(
+          () -> {
+            throw new IllegalStateException("upstream down");
+          });
+    } catch (IllegalStateException expected) {
+      // Opens the breaker.
+    }
+
+    Health health = indicator.health();
+    assertThat(health.getStatus()).isEqualTo(Status.UP);
+    assertThat(health.getDetails())
+        .containsEntry("state", CircuitBreaker.State.OPEN)
+        .containsEntry("degraded", true)
+        .containsEntry("failureRate", 1.0);
+  }
+}
@@ -0,0 +1,253 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class CircuitBreakerTest {
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-02-15T10:00:00Z"));
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CircuitBreakerProperties properties = new CircuitBreakerProperties();
+
+  @BeforeEach
+  void setUp() {
+    properties.setWindowSize(4);
+    properties.setMinimumCalls(4);
+    properties.setHalfOpenCalls(2);
+    properties.setOpenDuration(Duration.ofSeconds(10));
+  }
+
+  private CircuitBreaker breaker() {
+    return new CircuitBreaker(
+        "test", properties, clock, e -> !(e instanceof IllegalArgumentException), meterRegistry);
+  }
+
+  @DisplayName("Should open once the failure rate reaches the threshold")
+  @Test
+  void shouldOpenOnFailureRate() {
+    CircuitBreaker breaker = breaker();
+
+    succeed(breaker);
+    succeed(breaker);
+    fail(breaker);
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    fail(breaker);
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @DisplayName("Should reject calls once shut down")
+  @Test
+  void shouldRejectCallsWhenShutDown() {
+    CircuitBreaker breaker = breaker();
+
+    breaker.shutdown();
+
+    assertThatThrownBy(() -> breaker.execute(() -> "rate"))
+        .isInstanceOf(CircuitBreakerException.class)
+        .hasMessage("Circuit breaker 'test' is shut down");
+  }
+
+  @DisplayName("Should not count exceptions that are not failures")
+  @Test
+  void shouldIgnoreExceptionsThatAreNotFailures() {
+    CircuitBreaker breaker = breaker();
+
+    for (int i = 0; i < 4; i++) {
+      assertThatThrownBy(
+              () ->
+                  breaker.execute(
+                      () -> {
+                        throw new IllegalArgumentException("unknown pair");
+                      }))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @DisplayName("Should reject calls without running them while open")
+  @Test
+  void shouldFailFastWhileOpen() {
+    CircuitBreaker breaker = open(breaker());
+    AtomicInteger calls = new AtomicInteger();
+
+    assertThatThrownBy(() -> breaker.execute(calls::incrementAndGet))
+        .isInstanceOf(CircuitBreakerException.class)
+        .hasMessageContaining("open");
+
+    assertThat(calls).hasValue(0);
+    assertThat(
+            meterRegistry
+                .get("circuit.breaker.calls")
+                .tags("name", "test", "kind", "not_permitted")
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @DisplayName("Should close after the half-open probes succeeded")
+  @Test
+  void shouldCloseAfterSuccessfulProbes() {
+    CircuitBreaker breaker = open(breaker());
+    clock.advance(Duration.ofSeconds(10));
+
+    succeed(breaker);
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    succeed(breaker);
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(breaker.failureRate()).isZero();
+  }
+
+  @DisplayName("Should open again when a half-open probe fails")
+  @Test
+  void shouldReopenOnFailedProbe() {
+    CircuitBreaker breaker = open(breaker());
+    clock.advance(Duration.ofSeconds(10));
+
+    fail(breaker);
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThatThrownBy(() -> breaker.execute(() -> "1.08"))
+        .isInstanceOf(CircuitBreakerException.class);
+  }
+
+  @DisplayName("Should let another probe through when the caller of one is interrupted")
+  @Test
+  void shouldReleaseInterruptedProbe() {
+    CircuitBreaker breaker = open(breaker());
+    clock.advance(Duration.ofSeconds(10));
+
+    for (int i = 0; i < properties.halfOpenCalls(); i++) {
+      Thread.currentThread().interrupt();
+      assertThatThrownBy(
+              () ->
+                  breaker.execute(
+                      () -> {
+                        sleep(1000);
+                        return "1.08";
+                      }))
+          .isInstanceOf(CircuitBreakerException.class)
+          .hasMessageContaining("Interrupted");
+      assertThat(Thread.interrupted()).isTrue();
+    }
+
+    succeed(breaker);
+    succeed(breaker);
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @DisplayName("Should open once the slow call rate reaches the threshold")
+  @Test
+  void shouldOpenOnSlowCalls() {
+    properties.setSlowCallDuration(Duration.ofMillis(1));
+    properties.setSlowCallRateThreshold(0.5);
+    CircuitBreaker breaker = breaker();
+
+    for (int i = 0; i < 4; i++) {
+      breaker.execute(
+          () -> {
+            sleep(5);
+            return "1.08";
+          });
+    }
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @DisplayName("Should adapt the timeout to the observed p99 latency")
+  @Test
+  void shouldAdaptTimeoutToLatency() {
+    properties.setMinTimeout(Duration.ofMillis(50));
+    properties.setFailureRateThreshold(1.0);
+    CircuitBreaker breaker = breaker();
+    assertThat(breaker.timeout()).isEqualTo(properties.maxTimeout());
+
+    for (int i = 0; i < 4; i++) {
+      succeed(breaker);
+    }
+    assertThat(breaker.timeout()).isEqualTo(Duration.ofMillis(50));
+
+    assertThatThrownBy(
+            () ->
+                breaker.execute(
+                    () -> {
+                      sleep(1000);
+                      return "1.08";
+                    }))
+        .isInstanceOf(CircuitBreakerException.class)
+        .hasMessageContaining("timed out");
+    assertThat(
+            meterRegistry
+                .get("circuit.breaker.calls")
+                .tags("name", "test", "kind", "timeout")
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @DisplayName("Should pass calls through when disabled")
+  @Test
+  void shouldPassThroughWhenDisabled() {
+    properties.setEnabled(false);
+    CircuitBreaker breaker = breaker();
+
+    for (int i = 0; i < 8; i++) {
+      fail(breaker);
+    }
+
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @DisplayName("Should expose the current state as a gauge")
+  @Test
+  void shouldExposeState() {
+    CircuitBreaker breaker = open(breaker());
+
+    assertThat(meterRegistry.get("circuit.breaker.state").tag("state", "open").gauge().value())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("circuit.breaker.state").tag("state", "closed").gauge().value())
+        .isZero();
+  }
+
+  private CircuitBreaker open(CircuitBreaker breaker) {
+    for (int i = 0; i < properties.minimumCalls(); i++) {
+      fail(breaker);
+    }
+    assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    return breaker;
+  }
+
+  private static void succeed(CircuitBreaker breaker) {
+    assertThat(breaker.execute(() -> "1.08")).isEqualTo("1.08");
+  }
+
+  private static void fail(CircuitBreaker breaker) {
+    assertThatThrownBy(
+            () ->
+                breaker.execute(
+                    () -> {
+                      throw new IllegalStateException("upstream down");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class CrossRateCalculatorTest {
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency GBP = Currency.getInstance("GBP");
+
+  private static final Quote EUR_USD =
+      new Quote(
+          new CurrencyPair(EUR, USD), new BigDecimal("1.25"), LocalDate.of(2026, 2, 15), 2000);
+  private static final Quote EUR_GBP =
+      new Quote(
+          new CurrencyPair(EUR, GBP), new BigDecimal("0.85"), LocalDate.of(2026, 2, 14), 1000);
+  private static final List<Quote> BASE_QUOTES = List.of(EUR_USD, EUR_GBP);
+
+  private final CrossRateCalculator calculator =
+      new CrossRateCalculator(new TriangulationProperties());
+
+  @DisplayName("Should derive a cross-rate from two base quotes")
+  @Test
+  void shouldDeriveCrossRate() {
+    Quote quote = calculator.derive(USD, GBP, this::baseQuote);
+
+    assertThat(quote.pair()).isEqualTo(new CurrencyPair(USD, GBP));
+    assertThat(quote.rate()).isEqualByComparingTo("0.68");
+  }
+
+  @DisplayName("Should date a cross-rate by the older of its base quotes")
+  @Test
+  void shouldInheritOlderBaseQuote() {
+    Quote quote = calculator.derive(USD, GBP, this::baseQuote);
+
+    assertThat(quote.date()).isEqualTo(EUR_GBP.date());
+    assertThat(quote.fetchedAt()).isEqualTo(EUR_GBP.fetchedAt());
+  }
+
+  @DisplayName("Should derive the rate to the base currency from its inverse")
+  @Test
+  void shouldDeriveRateToBase() {
+    Quote quote = calculator.derive(USD, EUR, this::baseQuote);
+
+    assertThat(quote.rate()).isEqualByComparingTo("0.8");
+  }
+
+  @DisplayName("Should not derive pairs quoted directly by the base currency")
+  @Test
+  void shouldNotDeriveDirectQuotes() {
+    assertThat(calculator.derive(EUR, USD, this::baseQuote)).isNull();
+  }
+
+  @DisplayName("Should not derive when a base quote is missing")
+  @Test
+  void shouldNotDeriveWithoutBaseQuote() {
+    assertThat(calculator.derive(USD, Currency.getInstance("JPY"), this::baseQuote)).isNull();
+  }
+
+  @DisplayName("Should not derive from a base quote with a zero rate")
+  @Test
+  void shouldNotDeriveFromZeroRate() {
+    Quote zero =
+        new Quote(new CurrencyPair(EUR, USD), BigDecimal.ZERO, LocalDate.of(2026, 2, 15), 2000);
+    BiFunction<Currency, Currency, Quote> baseQuotes =
+        (from, to) -> to.equals(USD) ? zero : baseQuote(from, to);
+
+    assertThat(calculator.derive(USD, EUR, baseQuotes)).isNull();
+    assertThat(calculator.derive(USD, GBP, baseQuotes)).isNull();
+    assertThat(calculator.derive(GBP, USD, baseQuotes)).isNull();
+  }
+
+  @DisplayName("Should round derived rates to the configured precision")
+  @Test
+  void shouldApplyPrecisionPolicy() {
+    TriangulationProperties properties = new TriangulationProperties();
+    properties.setPrecision(4);
+    properties.setRoundingMode(RoundingMode.DOWN);
+    CrossRateCalculator calculator = new CrossRateCalculator(properties);
+
+    Quote quote = calculator.derive(GBP, USD, this::baseQuote);
+
+    assertThat(quote.rate()).isEqualByComparingTo("1.470");
+  }
+
+  @DisplayName("Should precompute every cross-rate between quoted currencies")
+  @Test
+  void shouldPrecomputeCrossRates() {
+    List<Quote> crossRates = calculator.crossRates(BASE_QUOTES);
+
+    assertThat(crossRates)
+        .extracting(Quote::pair)
+        .containsExactlyInAnyOrder(
+            new CurrencyPair(USD, EUR),
+            new CurrencyPair(GBP, EUR),
+            new CurrencyPair(USD, GBP),
+            new CurrencyPair(GBP, USD));
+    assertThat(crossRates)
+        .filteredOn(quote -> quote.pair().equals(new CurrencyPair(USD, GBP)))
+        .singleElement()
+        .satisfies(quote -> assertThat(quote.rate()).isEqualByComparingTo("0.68"));
+  }
+
+  @DisplayName("Should not precompute when triangulation is disabled")
+  @Test
+  void shouldNotPrecomputeWhenDisabled() {
+    TriangulationProperties properties = new TriangulationProperties();
+    properties.setEnabled(false);
+
+    assertThat(new CrossRateCalculator(properties).crossRates(BASE_QUOTES)).isEmpty();
+  }
+
+  private Quote baseQuote(Currency from, Currency to) {
+    return BASE_QUOTES.stream()
+        .filter(quote -> quote.pair().equals(new CurrencyPair(from, to)))
+        .findFirst()
+        .orElse(null);
+  }
+}
@@ -0,0 +1,60 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Currency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@Tag("unit")
+class CurrencyPairTest {
+
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency EUR = Currency.getInstance("EUR");
+
+  @DisplayName("Should parse a pair in any case")
+  @ParameterizedTest
+  @ValueSource(strings = {"USD-EUR", "usd-eur", "Usd-EuR"})
+  void shouldParsePair(String value) {
+    assertThat(CurrencyPair.parse(value)).isEqualTo(new CurrencyPair(USD, EUR));
+  }
+
+  @DisplayName("Should return null for a malformed pair or an unknown currency")
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "",
+        "USDEUR",
+        "USD_EUR",
+        "USD-EU",
+        "USD-EURO",
+        "US-DEUR",
+        "XYZ-EUR",
+        "USD-XYZ",
+        "U5D-EUR"
+      })
+  void shouldRejectInvalidPair(String value) {
+    assertThat(CurrencyPair.parse(value)).isNull();
+  }
+
+  @DisplayName("Should intern the pairs of known currencies")
+  @Test
+  void shouldInternPairs() {
+    CurrencyPair pair = CurrencyPair.of(USD, EUR);
+
+    assertThat(CurrencyPair.of(USD, EUR)).isSameAs(pair);
+    assertThat(CurrencyPair.parse("usd-eur")).isSameAs(pair);
+    assertThat(CurrencyPair.of(EUR, USD)).isNotSameAs(pair).isEqualTo(new CurrencyPair(EUR, USD));
+  }
+
+  @DisplayName("Should parse a currency code in any case without throwing")
+  @Test
+  void shouldParseCurrencyCode() {
+    assertThat(CurrencyIndex.parse("eur")).isSameAs(EUR);
+    assertThat(CurrencyIndex.parse("XYZ")).isNull();
+    assertThat(CurrencyIndex.parse("EURO")).isNull();
+  }
+}
@@ -0,0 +1,41 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class LogLimiterTest {
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-02-15T12:00:00Z"));
+  private final LogLimiter limiter = new LogLimiter(2, 3, Duration.ofMinutes(1), clock);
+
+  @DisplayName("Should log the burst and then one event in every sample")
+  @Test
+  void shouldLogBurstAndSample() {
+    assertThat(limiter.tryAcquire()).isZero();
+    assertThat(limiter.tryAcquire()).isZero();
+    assertThat(limiter.tryAcquire()).isEqualTo(LogLimiter.SKIP);
+    assertThat(limiter.tryAcquire()).isEqualTo(LogLimiter.SKIP);
+    assertThat(limiter.tryAcquire()).isEqualTo(2);
+    assertThat(limiter.tryAcquire()).isEqualTo(LogLimiter.SKIP);
+  }
+
+  @DisplayName("Should start a new burst every interval and report the events skipped before it")
+  @Test
+  void shouldResetBurstEveryInterval() {
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire();
+    }
+
+    clock.advance(Duration.ofMinutes(1));
+
+    assertThat(limiter.tryAcquire()).isEqualTo(2);
+    assertThat(limiter.tryAcquire()).isZero();
+    assertThat(limiter.tryAcquire()).isEqualTo(LogLimiter.SKIP);
+  }
+}
@@ -0,0 +1,115 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class MatrixRateStoreTest {
+
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency GBP = Currency.getInstance("GBP");
+  private static final LocalDate DATE = LocalDate.of(2026, 2, 15);
+
+  private final MatrixRateStore store = new MatrixRateStore();
+
+  @DisplayName("Should return null for a pair that was never stored")
+  @Test
+  void shouldReturnNullOnMiss() {
+    assertThat(store.get(USD, EUR)).isNull();
+  }
+
+  @DisplayName("Should return the quote stored for a pair")
+  @Test
+  void shouldReturnStoredQuote() {
+    Quote quote = quote(USD, EUR, "0.9234");
+
+    store.put(quote);
+
+    assertThat(store.get(USD, EUR)).isSameAs(quote);
+    assertThat(store.get(EUR, USD)).isNull();
+  }
+
+  @DisplayName("Should keep previously stored quotes when loading a batch")
+  @Test
+  void shouldMergeBatchIntoSnapshot() {
+    store.put(quote(USD, EUR, "0.9234"));
+
+    store.putAll(List.of(quote(EUR, USD, "1.079301"), quote(EUR, GBP, "0.852341")));
+
+    assertThat(store.get(USD, EUR).rate()).isEqualTo(new BigDecimal("0.9234"));
+    assertThat(store.get(EUR, USD).rate()).isEqualTo(new BigDecimal("1.079301"));
+    assertThat(store.get(EUR, GBP).rate()).isEqualTo(new BigDecimal("0.852341"));
+  }
+
+  @DisplayName("Should replace the quote of a pair loaded again")
+  @Test
+  void shouldReplaceQuotes() {
+    store.put(quote(EUR, USD, "1.07"));
+
+    store.putAll(List.of(quote(EUR, USD, "1.08")));
+
+    assertThat(store.get(EUR, USD).rate()).isEqualTo(new BigDecimal("1.08"));
+  }
+
+  @DisplayName("Should store and remove quotes in a single update")
+  @Test
+  void shouldApplyUpdate() {
+    store.putAll(List.of(quote(EUR, USD, "1.07"), quote(EUR, GBP, "0.85")));
+
+    store.update(List.of(quote(EUR, USD, "1.08")), List.of(new CurrencyPair(EUR, GBP)));
+
+    assertThat(store.get(EUR, USD).rate()).isEqualTo(new BigDecimal("1.08"));
+    assertThat(store.get(EUR, GBP)).isNull();
+    assertThat(store.size()).isEqualTo(1);
+  }
+
+  @DisplayName("Should keep quotes stored while bulk loads are applied")
+  @Test
+  void shouldKeepQuotesStoredDuringBulkLoads() throws Exception {
+    List<Currency> currencies =
+        Currency.getAvailableCurrencies().stream()
+            .filter(currency -> CurrencyIndex.of(currency) >= 0)
+            .limit(40)
+            .toList();
+    List<Quote> bulk = List.of(quote(EUR, USD, "1.08"), quote(EUR, GBP, "0.85"));
+    AtomicBoolean running = new AtomicBoolean(true);
+    Thread loader =
+        Thread.ofPlatform()
+            .start(
+                () -> {
+                  while (running.get()) {
+                    store.putAll(bulk);
+                  }
+                });
+
+    try {
+      for (Currency from : currencies) {
+        for (Currency to : currencies) {
+          store.put(quote(from, to, "1.5"));
+        }
+      }
+    } finally {
+      running.set(false);
+      loader.join();
+    }
+
+    for (Currency from : currencies) {
+      for (Currency to : currencies) {
+        assertThat(store.get(from, to)).as("%s-%s", from, to).isNotNull();
+      }
+    }
+  }
+
+  private static Quote quote(Currency from, Currency to, String rate) {
+    return new Quote(new CurrencyPair(from, to), new BigDecimal(rate), DATE, 0);
+  }
+}
@@ -0,0 +1,36 @@
+package com.forexconverter.rate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/** {@link Clock} for tests that need to move time forward. */
+public final class MutableClock extends Clock {
+
+  private Instant instant;
+
+  public MutableClock(Instant instant) {
+    this.instant = instant;
+  }
+
+  public void advance(Duration duration) {
+    instant = instant.plus(duration);
+  }
+
+  @Override
+  public ZoneOffset getZone() {
+    return ZoneOffset.UTC;
+  }
+
+  @Override
+  public Clock withZone(ZoneId zone) {
+    return this;
+  }
+
+  @Override
+  public Instant instant() {
+    return instant;
+  }
+}
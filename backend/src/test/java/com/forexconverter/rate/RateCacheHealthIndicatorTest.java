@@ -0,0 +1,122 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+@Tag("unit")
+class RateCacheHealthIndicatorTest {
+
+  private static final LocalDate SNAPSHOT_DATE = LocalDate.of(2026, 2, 14);
+  private static final LocalDate RATES_DATE = LocalDate.of(2026, 2, 15);
+
+  private final CacheProperties properties = new CacheProperties();
+
+  @DisplayName("Should be out of service until the startup warmup completed")
+  @Test
+  void shouldBeOutOfServiceWhileWarmingUp() {
+    RateCacheHealthIndicator indicator = new RateCacheHealthIndicator(properties);
+
+    assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+  }
+
+  @DisplayName("Should be up with the loaded pairs once rates are refreshed")
+  @Test
+  void shouldBeUpWhenRefreshed() {
+    RateCacheHealthIndicator indicator = new RateCacheHealthIndicator(properties);
+
+    indicator.onRatesRefreshed(new RatesRefreshedEvent(List.of(quote(RATES_DATE)), 2));
+
+    Health health = indicator.health();
+    assertThat(health.getStatus()).isEqualTo(Status.UP);
+    assertThat(health.getDetails())
+        .containsEntry("pairs", 2)
+        .containsEntry("ratesDate", RATES_DATE)
+        .doesNotContainKey("snapshotDate");
+  }
+
+  @DisplayName("Should be up with the snapshot date once a snapshot is restored")
+  @Test
+  void shouldBeUpWhenRestored() {
+    RateCacheHealthIndicator indicator = new RateCacheHealthIndicator(properties);
+
+    indicator.onRatesRestored(new RatesRestoredEvent(List.of(quote(SNAPSHOT_DATE)), 2, 2));
+    indicator.onRatesRefreshFailed(new RatesRefreshFailedEvent(new RuntimeException("down")));
+
+    Health health = indicator.health();
+    assertThat(health.getStatus()).isEqualTo(Status.UP);
+    assertThat(health.getDetails())
+        .containsEntry("pairs", 2)
+        .containsEntry("snapshotDate", SNAPSHOT_DATE)
+        .doesNotContainKey("degraded");
+  }
+
+  @DisplayName("Should not be warm when no restored rate is within the hard TTL")
+  @Test
+  void shouldNotBeWarmWithExpiredSnapshot() {
+    RateCacheHealthIndicator indicator = new RateCacheHealthIndicator(properties);
+
+    indicator.onRatesRestored(new RatesRestoredEvent(List.of(quote(SNAPSHOT_DATE)), 2, 0));
+
+    assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+    indicator.onRatesRefreshFailed(new RatesRefreshFailedEvent(new RuntimeException("down")));
+
+    Health health = indicator.health();
+    assertThat(health.getStatus()).isEqualTo(Status.UP);
+    assertThat(health.getDetails())
+        .containsEntry("degraded", true)
+        .containsEntry("pairs", 0)
+        .containsEntry("snapshotDate", SNAPSHOT_DATE);
+  }
+
+  @DisplayName("Should start degraded when the warmup failed without rates to serve")
+  @Test
+  void shouldStartDegraded() {
+    RateCacheHealthIndicator indicator = new RateCacheHealthIndicator(properties);
+
+    indicator.onRatesRefreshFailed(new RatesRefreshFailedEvent(new RuntimeException("down")));
+
+    Health health = indicator.health();
+    assertThat(health.getStatus()).isEqualTo(Status.UP);
+    assertThat(health.getDetails()).containsEntry("degraded", true).containsEntry("pairs", 0);
+  }
+
+  @DisplayName(
+      "Should stay out of service after a failed warmup when starting degraded is disabled")
+  @Test
+  void shouldWaitForRatesWhenNotStartingDegraded() {
+    properties.warmup().setStartDegraded(false);
+    RateCacheHealthIndicator indicator = new RateCacheHealthIndicator(properties);
+
+    indicator.onRatesRefreshFailed(new RatesRefreshFailedEvent(new RuntimeException("down")));
+    assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+    indicator.onRatesRefreshed(new RatesRefreshedEvent(List.of(quote(RATES_DATE)), 1));
+    assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+  }
+
+  @DisplayName("Should be up without rates when warmup is disabled")
+  @Test
+  void shouldBeUpWithoutWarmup() {
+    properties.warmup().setEnabled(false);
+
+    assertThat(new RateCacheHealthIndicator(properties).health().getStatus()).isEqualTo(Status.UP);
+  }
+
+  private static Quote quote(LocalDate date) {
+    return new Quote(
+        new CurrencyPair(Currency.getInstance("EUR"), Currency.getInstance("USD")),
+        new BigDecimal("1.079301"),
+        date,
+        0);
+  }
+}
@@ -0,0 +1,169 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("unit")
+class RateHistoryTest {
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency GBP = Currency.getInstance("GBP");
+  private static final Currency JPY = Currency.getInstance("JPY");
+  private static final LocalDate FRIDAY = LocalDate.of(2026, 2, 13);
+  private static final LocalDate MONDAY = LocalDate.of(2026, 2, 16);
+
+  @TempDir private Path directory;
+
+  private HistoryProperties properties;
+  private RateHistory history;
+
+  @BeforeEach
+  void setUp() {
+    properties = new HistoryProperties();
+    properties.setPath(directory);
+    history = new RateHistory(properties, new CrossRateCalculator(new TriangulationProperties()));
+  }
+
+  private static Quote quote(Currency from, Currency to, String rate, LocalDate date) {
+    return new Quote(new CurrencyPair(from, to), new BigDecimal(rate), date, 1L);
+  }
+
+  @DisplayName("Should return the recorded rate of a date")
+  @Test
+  void shouldReturnRecordedRate() throws IOException {
+    history.record(List.of(quote(EUR, USD, "1.0825", FRIDAY), quote(EUR, GBP, "0.85", FRIDAY)));
+
+    Quote quote = history.find(EUR, USD, FRIDAY);
+
+    assertThat(quote.rate()).isEqualTo(new BigDecimal("1.0825"));
+    assertThat(quote.date()).isEqualTo(FRIDAY);
+    assertThat(history.at(FRIDAY).getRate(EUR, GBP)).isEqualTo(new BigDecimal("0.85"));
+    assertThat(Files.exists(directory.resolve("2026-02-13.rates"))).isTrue();
+  }
+
+  @DisplayName("Should merge rates recorded for the same date")
+  @Test
+  void shouldMergeSameDate() throws IOException {
+    history.record(List.of(quote(EUR, USD, "1.08", FRIDAY), quote(EUR, GBP, "0.85", FRIDAY)));
+    history.find(EUR, USD, FRIDAY);
+
+    history.record(List.of(quote(EUR, USD, "1.09", FRIDAY)));
+
+    assertThat(history.find(EUR, USD, FRIDAY).rate()).isEqualTo(new BigDecimal("1.09"));
+    assertThat(history.find(EUR, GBP, FRIDAY).rate()).isEqualTo(new BigDecimal("0.85"));
+  }
+
+  @DisplayName("Should keep the rates of overlapping recordings for the same date")
+  @Test
+  void shouldKeepOverlappingRecordings() throws Exception {
+    List<Currency> targets = List.of(USD, GBP, JPY, Currency.getInstance("CHF"));
+    CountDownLatch start = new CountDownLatch(1);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> recordings = new ArrayList<>();
+      for (Currency target : targets) {
+        recordings.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  history.record(List.of(quote(EUR, target, "1.5", FRIDAY)));
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> recording : recordings) {
+        recording.get();
+      }
+    }
+
+    for (Currency target : targets) {
+      assertThat(history.find(EUR, target, FRIDAY)).isNotNull();
+    }
+  }
+
+  @DisplayName("Should fall back to the latest recorded date within the lookback")
+  @Test
+  void shouldFallBackToEarlierDate() throws IOException {
+    history.record(List.of(quote(EUR, USD, "1.08", FRIDAY)));
+
+    assertThat(history.find(EUR, USD, MONDAY).date()).isEqualTo(FRIDAY);
+    assertThat(history.find(EUR, USD, FRIDAY.plusDays(8))).isNull();
+    assertThat(history.find(EUR, USD, FRIDAY.minusDays(1))).isNull();
+  }
+
+  @DisplayName("Should derive a cross-rate from the base rates of the same date")
+  @Test
+  void shouldDeriveCrossRate() throws IOException {
+    history.record(List.of(quote(EUR, USD, "1.25", FRIDAY), quote(EUR, GBP, "0.8", FRIDAY)));
+
+    Quote quote = history.find(USD, GBP, FRIDAY);
+
+    assertThat(quote.rate()).isEqualByComparingTo("0.64");
+    assertThat(quote.date()).isEqualTo(FRIDAY);
+  }
+
+  @DisplayName("Should throw not found for a rate missing on the date")
+  @Test
+  void shouldThrowForMissingRate() throws IOException {
+    history.record(List.of(quote(EUR, USD, "1.08", FRIDAY)));
+    Provider provider = history.at(FRIDAY);
+
+    assertThatThrownBy(() -> provider.getQuote(EUR, JPY))
+        .isInstanceOf(ProviderRateNotFoundException.class);
+  }
+
+  @DisplayName("Should skip rates without a date")
+  @Test
+  void shouldSkipUndatedRates() throws IOException {
+    history.record(List.of(quote(EUR, USD, "1.08", null)));
+
+    try (var files = Files.list(directory)) {
+      assertThat(files).isEmpty();
+    }
+  }
+
+  @DisplayName("Should keep serving rates beyond the number of mapped files")
+  @Test
+  void shouldEvictMappedFiles() throws IOException {
+    properties.setMaxOpenFiles(1);
+    history = new RateHistory(properties, new CrossRateCalculator(new TriangulationProperties()));
+    history.record(
+        List.of(quote(EUR, USD, "1.08", FRIDAY), quote(EUR, USD, "1.09", FRIDAY.plusDays(1))));
+
+    assertThat(history.find(EUR, USD, FRIDAY).rate()).isEqualTo(new BigDecimal("1.08"));
+    assertThat(history.find(EUR, USD, FRIDAY.plusDays(1)).rate()).isEqualTo(new BigDecimal("1.09"));
+    assertThat(history.find(EUR, USD, FRIDAY).rate()).isEqualTo(new BigDecimal("1.08"));
+  }
+
+  @DisplayName("Should report a corrupt file as a provider failure")
+  @Test
+  void shouldRejectCorruptFile() throws IOException {
+    history.record(List.of(quote(EUR, USD, "1.08", FRIDAY)));
+    Path file = directory.resolve("2026-02-13.rates");
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[bytes.length - 5] ^= 1;
+    Files.write(file, bytes);
+
+    assertThatThrownBy(() -> history.find(EUR, USD, FRIDAY))
+        .isInstanceOf(ProviderException.class)
+        .hasMessage("Rate history unavailable");
+  }
+}
@@ -0,0 +1,80 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("unit")
+class RateSnapshotTest {
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency JPY = Currency.getInstance("JPY");
+
+  @TempDir private Path directory;
+
+  @DisplayName("Should read back the quotes it wrote")
+  @Test
+  void shouldRoundTripQuotes() throws IOException {
+    RateSnapshot snapshot = new RateSnapshot(directory.resolve("rates.snapshot"));
+    List<Quote> quotes =
+        List.of(
+            quote(EUR, USD, "1.079301", 1_771_149_600_000L),
+            quote(EUR, JPY, "161.123456789012345678", 1_771_149_600_123L));
+
+    snapshot.write(quotes);
+
+    assertThat(snapshot.read()).isEqualTo(quotes);
+  }
+
+  @DisplayName("Should replace the previous snapshot without leaving temporary files behind")
+  @Test
+  void shouldReplaceSnapshot() throws IOException {
+    Path path = directory.resolve("data").resolve("rates.snapshot");
+    RateSnapshot snapshot = new RateSnapshot(path);
+
+    snapshot.write(List.of(quote(EUR, USD, "1.07", 0)));
+    snapshot.write(List.of(quote(EUR, USD, "1.08", 1)));
+
+    assertThat(snapshot.read()).containsExactly(quote(EUR, USD, "1.08", 1));
+    try (var files = Files.list(path.getParent())) {
+      assertThat(files).containsExactly(path);
+    }
+  }
+
+  @DisplayName("Should read no quotes when there is no snapshot")
+  @Test
+  void shouldReadNothingWithoutSnapshot() throws IOException {
+    assertThat(new RateSnapshot(directory.resolve("missing.snapshot")).read()).isEmpty();
+  }
+
+  @DisplayName("Should reject a corrupt snapshot")
+  @Test
+  void shouldRejectCorruptSnapshot() throws IOException {
+    Path path = directory.resolve("rates.snapshot");
+    RateSnapshot snapshot = new RateSnapshot(path);
+    snapshot.write(List.of(quote(EUR, USD, "1.079301", 0)));
+
+    byte[] bytes = Files.readAllBytes(path);
+    bytes[12] ^= 1;
+    Files.write(path, bytes);
+
+    assertThatThrownBy(snapshot::read).isInstanceOf(IOException.class);
+  }
+
+  private static Quote quote(Currency from, Currency to, String rate, long fetchedAt) {
+    return new Quote(
+        new CurrencyPair(from, to), new BigDecimal(rate), LocalDate.of(2026, 2, 15), fetchedAt);
+  }
+}
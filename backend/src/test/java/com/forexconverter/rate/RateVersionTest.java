@@ -0,0 +1,122 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class RateVersionTest {
+
+  private static final Instant NOON = Instant.parse("2026-02-15T12:00:00Z");
+  private static final Quote QUOTE =
+      new Quote(
+          new CurrencyPair(Currency.getInstance("USD"), Currency.getInstance("EUR")),
+          new BigDecimal("0.925"),
+          LocalDate.of(2026, 2, 15),
+          NOON.toEpochMilli());
+
+  private MutableClock clock;
+  private CacheProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(NOON);
+    properties = new CacheProperties();
+  }
+
+  @DisplayName("Should change the ETag whenever stored rates change")
+  @Test
+  void shouldChangeEtag() {
+    RateVersion version = new RateVersion(properties, clock);
+    String initial = version.etag();
+
+    version.onRatesChanged(new RatesChangedEvent(List.of(), List.of(QUOTE), List.of()));
+    String changed = version.etag();
+    version.onRatesChanged(new RatesChangedEvent(List.of(), List.of(), List.of(QUOTE.pair())));
+
+    assertThat(changed).isNotEqualTo(initial).startsWith("\"").endsWith("\"");
+    assertThat(version.etag()).isNotEqualTo(changed);
+  }
+
+  @DisplayName("Should keep the ETag when the rate of a new pair is added")
+  @Test
+  void shouldKeepEtagOnAddedRate() {
+    RateVersion version = new RateVersion(properties, clock);
+    String initial = version.etag();
+
+    version.onRatesChanged(new RatesChangedEvent(List.of(QUOTE), List.of(), List.of()));
+
+    assertThat(version.etag()).isEqualTo(initial);
+  }
+
+  @DisplayName("Should change the ETag when rates are restored")
+  @Test
+  void shouldChangeEtagOnRestore() {
+    RateVersion version = new RateVersion(properties, clock);
+    String initial = version.etag();
+
+    version.onRatesRestored();
+
+    assertThat(version.etag()).isNotEqualTo(initial);
+  }
+
+  @DisplayName("Should keep the ETag when a refresh changed no rates")
+  @Test
+  void shouldKeepEtagOnUnchangedRefresh() {
+    RateVersion version = new RateVersion(properties, clock);
+    String initial = version.etag();
+
+    version.onRatesRefreshed(new RatesRefreshedEvent(List.of(), 0));
+
+    assertThat(version.etag()).isEqualTo(initial);
+  }
+
+  @DisplayName("Should not reuse an ETag after a restart")
+  @Test
+  void shouldNotReuseEtagAfterRestart() {
+    String beforeRestart = new RateVersion(properties, clock).etag();
+    clock.advance(Duration.ofSeconds(1));
+
+    assertThat(new RateVersion(properties, clock).etag()).isNotEqualTo(beforeRestart);
+  }
+
+  @DisplayName("Should keep rates fresh until the next scheduled refresh")
+  @Test
+  void shouldExpireAtScheduledRefresh() {
+    RateVersion version = new RateVersion(properties, clock);
+
+    assertThat(version.untilRefresh()).isEqualTo(Duration.ofHours(13));
+  }
+
+  @DisplayName("Should grant no freshness while the scheduled refresh has not completed")
+  @Test
+  void shouldWaitForScheduledRefresh() {
+    RateVersion version = new RateVersion(properties, clock);
+    clock.advance(Duration.ofHours(13).plusSeconds(5));
+
+    assertThat(version.untilRefresh()).isZero();
+
+    version.onRatesRefreshed(new RatesRefreshedEvent(List.of(), 0));
+
+    assertThat(version.untilRefresh()).isEqualTo(Duration.ofHours(24).minusSeconds(5));
+  }
+
+  @DisplayName("Should roll over to the next day without a scheduled refresh")
+  @Test
+  void shouldRollOverWithoutScheduledRefresh() {
+    properties.warmup().setEnabled(false);
+    RateVersion version = new RateVersion(properties, clock);
+    clock.advance(Duration.ofHours(14));
+
+    assertThat(version.untilRefresh()).isEqualTo(Duration.ofHours(23));
+  }
+}
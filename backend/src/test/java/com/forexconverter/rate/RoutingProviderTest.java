@@ -0,0 +1,232 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class RoutingProviderTest {
+
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final LocalDate DATE = LocalDate.of(2026, 2, 15);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RoutingProperties.Hedge hedge = new RoutingProperties.Hedge();
+  private final SequencedMap<String, Provider> sources = new LinkedHashMap<>();
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+  }
+
+  private RoutingProvider provider() {
+    return new RoutingProvider(sources, hedge, meterRegistry);
+  }
+
+  private static Provider answering(String rate) {
+    return fixed(new Quote(new CurrencyPair(USD, EUR), new BigDecimal(rate), DATE, 0));
+  }
+
+  private static Provider fixed(Quote quote) {
+    return new Provider() {
+      @Override
+      public BigDecimal getRate(Currency from, Currency to) {
+        return quote.rate();
+      }
+
+      @Override
+      public Quote getQuote(Currency from, Currency to) {
+        return quote;
+      }
+    };
+  }
+
+  private static Provider failing(RuntimeException failure) {
+    return (from, to) -> {
+      throw failure;
+    };
+  }
+
+  private Provider blocked(String rate) {
+    return (from, to) -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new BigDecimal(rate);
+    };
+  }
+
+  private double wins(String provider) {
+    return meterRegistry.get("provider.route.wins").tag("provider", provider).counter().count();
+  }
+
+  @DisplayName("Should serve lookups from a single source")
+  @Test
+  void shouldServeFromSingleSource() {
+    sources.put("swop", answering("1.08"));
+
+    assertThat(provider().getRate(USD, EUR)).isEqualTo(new BigDecimal("1.08"));
+    assertThat(wins("swop")).isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get("provider.route.latency")
+                .tag("provider", "swop")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @DisplayName("Should prefer the first source when it answers in time")
+  @Test
+  void shouldPreferFirstSource() {
+    sources.put("swop", answering("1.08"));
+    sources.put("file", answering("1.07"));
+
+    assertThat(provider().getRate(USD, EUR)).isEqualTo(new BigDecimal("1.08"));
+    assertThat(wins("swop")).isEqualTo(1);
+    assertThat(wins("file")).isZero();
+  }
+
+  @DisplayName("Should fail over to the next source when a source fails")
+  @Test
+  void shouldFailOver() {
+    hedge.setEnabled(false);
+    sources.put("swop", failing(new ProviderException("Rate provider unreachable")));
+    sources.put("file", answering("1.07"));
+
+    assertThat(provider().getRate(USD, EUR)).isEqualTo(new BigDecimal("1.07"));
+    assertThat(wins("file")).isEqualTo(1);
+  }
+
+  @DisplayName("Should query the next source when the current one is slower than the hedge delay")
+  @Test
+  void shouldHedgeSlowSource() {
+    hedge.setMaxDelay(Duration.ofMillis(20));
+    sources.put("swop", blocked("1.08"));
+    sources.put("file", answering("1.07"));
+
+    assertThat(provider().getRate(USD, EUR)).isEqualTo(new BigDecimal("1.07"));
+    assertThat(wins("file")).isEqualTo(1);
+    assertThat(meterRegistry.get("provider.route.hedges").tag("provider", "file").counter().count())
+        .isEqualTo(1);
+  }
+
+  @DisplayName("Should wait for a slow source when hedging is disabled")
+  @Test
+  void shouldNotHedgeWhenDisabled() {
+    hedge.setEnabled(false);
+    hedge.setMaxDelay(Duration.ofMillis(1));
+    sources.put("swop", blocked("1.08"));
+    sources.put("file", answering("1.07"));
+    RoutingProvider provider = provider();
+
+    Thread.ofVirtual().start(release::countDown);
+
+    assertThat(provider.getRate(USD, EUR)).isEqualTo(new BigDecimal("1.08"));
+    assertThat(wins("file")).isZero();
+  }
+
+  @DisplayName("Should prefer a fresh quote of a later source over a stale one")
+  @Test
+  void shouldPreferFreshQuote() {
+    Quote stale = new Quote(new CurrencyPair(USD, EUR), new BigDecimal("1.08"), DATE, 0).asStale();
+    sources.put("swop", fixed(stale));
+    sources.put("file", answering("1.07"));
+
+    Quote quote = provider().getQuote(USD, EUR);
+
+    assertThat(quote.rate()).isEqualTo(new BigDecimal("1.07"));
+    assertThat(quote.stale()).isFalse();
+  }
+
+  @DisplayName("Should return a stale quote when no source has a fresh one")
+  @Test
+  void shouldFallBackToStaleQuote() {
+    Quote stale = new Quote(new CurrencyPair(USD, EUR), new BigDecimal("1.08"), DATE, 0).asStale();
+    sources.put("swop", fixed(stale));
+    sources.put("file", failing(new ProviderRateNotFoundException("Rate not found")));
+
+    assertThat(provider().getQuote(USD, EUR)).isEqualTo(stale);
+    assertThat(wins("swop")).isEqualTo(1);
+  }
+
+  @DisplayName("Should report an unavailable source over a missing rate when all sources fail")
+  @Test
+  void shouldPreferProviderException() {
+    sources.put("swop", failing(new ProviderException("Rate provider unreachable")));
+    sources.put("file", failing(new ProviderRateNotFoundException("Rate not found")));
+
+    assertThatThrownBy(() -> provider().getRate(USD, EUR))
+        .isInstanceOf(ProviderException.class)
+        .hasMessage("Rate provider unreachable");
+  }
+
+  @DisplayName("Should report a missing rate when every source misses it")
+  @Test
+  void shouldReportMissingRate() {
+    sources.put("swop", failing(new ProviderRateNotFoundException("Rate not found")));
+    sources.put("file", failing(new ProviderRateNotFoundException("Rate not found")));
+
+    assertThatThrownBy(() -> provider().getRate(USD, EUR))
+        .isInstanceOf(ProviderRateNotFoundException.class);
+  }
+
+  @DisplayName("Should stop lookups that lost the race when closed")
+  @Test
+  void shouldStopRunningLookupsWhenClosed() throws InterruptedException {
+    hedge.setMaxDelay(Duration.ofMillis(20));
+    CountDownLatch interrupted = new CountDownLatch(1);
+    sources.put(
+        "swop",
+        (from, to) -> {
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            interrupted.countDown();
+          }
+          return new BigDecimal("1.08");
+        });
+    sources.put("file", answering("1.07"));
+    RoutingProvider provider = provider();
+    provider.getRate(USD, EUR);
+
+    provider.close();
+
+    assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @DisplayName("Should adapt the hedge delay to the latency percentile of the source")
+  @Test
+  void shouldAdaptHedgeDelay() {
+    hedge.setMinimumCalls(1);
+    hedge.setMinDelay(Duration.ofMillis(20));
+    sources.put("swop", answering("1.08"));
+    sources.put("file", answering("1.07"));
+    RoutingProvider provider = provider();
+
+    assertThat(provider.hedgeDelay("swop")).isEqualTo(hedge.maxDelay());
+    for (int i = 0; i < 32; i++) {
+      provider.getRate(USD, EUR);
+    }
+
+    assertThat(provider.hedgeDelay("swop")).isEqualTo(hedge.minDelay());
+  }
+}
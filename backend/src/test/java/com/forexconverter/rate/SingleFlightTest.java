@@ -0,0 +1,188 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class SingleFlightTest {
+
+  private static final int CALLERS = 8;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SingleFlight<String, String> singleFlight =
+      new SingleFlight<>(meterRegistry, "test.fetch");
+  private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @DisplayName("Should share one execution between concurrent callers of the same key")
+  @Test
+  void shouldCoalesceConcurrentCalls() throws Exception {
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<String>> results =
+        submitConcurrently(
+            () -> {
+              executions.incrementAndGet();
+              await(release);
+              return "1.079301";
+            });
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("1.079301");
+    }
+    assertThat(executions).hasValue(1);
+    assertThat(meterRegistry.get("test.fetch.calls").tag("role", "executed").counter().count())
+        .isEqualTo(1);
+  }
+
+  @DisplayName("Should propagate the exception of the shared execution to every caller")
+  @Test
+  void shouldShareFailure() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    ProviderException failure = new ProviderException("Rate provider unreachable");
+
+    List<Future<String>> results =
+        submitConcurrently(
+            () -> {
+              await(release);
+              throw failure;
+            });
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(failure);
+    }
+  }
+
+  @DisplayName("Should propagate an error of the shared execution and release the key")
+  @Test
+  void shouldShareError() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    StackOverflowError failure = new StackOverflowError();
+
+    List<Future<String>> results =
+        submitConcurrently(
+            () -> {
+              await(release);
+              throw failure;
+            });
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(failure);
+    }
+    assertThat(singleFlight.execute("USD:EUR", () -> "1.08")).isEqualTo("1.08");
+  }
+
+  @DisplayName("Should propagate an error of a background call to the callers joining it")
+  @Test
+  void shouldShareBackgroundError() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    AssertionError failure = new AssertionError("loader failed");
+    singleFlight.executeAsync(
+        "USD:EUR",
+        () -> {
+          throw failure;
+        },
+        tasks::add);
+    Future<String> joined = executor.submit(() -> singleFlight.execute("USD:EUR", () -> "1.08"));
+    awaitCount("coalesced", 1);
+
+    assertThatThrownBy(() -> tasks.getFirst().run()).isSameAs(failure);
+
+    assertThatThrownBy(() -> joined.get(5, TimeUnit.SECONDS)).hasCause(failure);
+    assertThat(meterRegistry.get("test.fetch.in.flight").gauge().value()).isZero();
+  }
+
+  @DisplayName("Should execute again once the previous call has completed")
+  @Test
+  void shouldNotCacheCompletedCalls() {
+    AtomicInteger executions = new AtomicInteger();
+
+    singleFlight.execute("USD:EUR", () -> String.valueOf(executions.incrementAndGet()));
+    singleFlight.execute("USD:EUR", () -> String.valueOf(executions.incrementAndGet()));
+
+    assertThat(executions).hasValue(2);
+  }
+
+  @DisplayName("Should let callers join a call started in the background")
+  @Test
+  void shouldJoinBackgroundCall() {
+    List<Runnable> tasks = new ArrayList<>();
+    AtomicInteger executions = new AtomicInteger();
+
+    singleFlight.executeAsync(
+        "USD:EUR", () -> String.valueOf(executions.incrementAndGet()), tasks::add);
+    singleFlight.executeAsync(
+        "USD:EUR", () -> String.valueOf(executions.incrementAndGet()), tasks::add);
+
+    assertThat(tasks).hasSize(1);
+    tasks.getFirst().run();
+    assertThat(executions).hasValue(1);
+    assertThat(meterRegistry.get("test.fetch.in.flight").gauge().value()).isZero();
+  }
+
+  @DisplayName("Should release the key when the executor rejects a background call")
+  @Test
+  void shouldReleaseKeyOnRejection() {
+    singleFlight.executeAsync(
+        "USD:EUR",
+        () -> "1.079301",
+        task -> {
+          throw new RejectedExecutionException("queue full");
+        });
+
+    assertThat(singleFlight.execute("USD:EUR", () -> "1.08")).isEqualTo("1.08");
+  }
+
+  private List<Future<String>> submitConcurrently(Supplier<String> call) throws Exception {
+    List<Future<String>> results = new ArrayList<>();
+    results.add(executor.submit(() -> singleFlight.execute("USD:EUR", call)));
+    awaitCount("executed", 1);
+    for (int i = 1; i < CALLERS; i++) {
+      results.add(executor.submit(() -> singleFlight.execute("USD:EUR", call)));
+    }
+    awaitCount("coalesced", CALLERS - 1);
+    return results;
+  }
+
+  private void awaitCount(String role, int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (meterRegistry.get("test.fetch.calls").tag("role", role).counter().count() < expected) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("Timed out waiting for " + expected + " " + role + " calls");
+      }
+      Thread.sleep(1);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.ApplicationArguments;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+class SnapshotRunnerTest {
+
+  private static final Quote QUOTE =
+      new Quote(
+          new CurrencyPair(Currency.getInstance("EUR"), Currency.getInstance("USD")),
+          new BigDecimal("1.079301"),
+          LocalDate.of(2026, 2, 15),
+          1_771_149_600_000L);
+
+  @Mock private SwopProvider swopProvider;
+  @Mock private ApplicationArguments args;
+
+  @TempDir private Path directory;
+
+  private Path path;
+  private SnapshotRunner runner;
+
+  @BeforeEach
+  void setUp() {
+    path = directory.resolve("rates.snapshot");
+    CacheProperties properties = new CacheProperties();
+    properties.snapshot().setPath(path);
+    runner = new SnapshotRunner(swopProvider, properties);
+  }
+
+  @DisplayName("Should write refreshed rates and restore them on startup")
+  @Test
+  void shouldRestoreWrittenRates() {
+    runner.onRatesRefreshed(new RatesRefreshedEvent(List.of(QUOTE), 1));
+
+    runner.run(args);
+
+    verify(swopProvider).restore(List.of(QUOTE));
+  }
+
+  @DisplayName("Should start without restoring when there is no snapshot")
+  @Test
+  void shouldSkipMissingSnapshot() {
+    runner.run(args);
+
+    verify(swopProvider, never()).restore(any());
+  }
+
+  @DisplayName("Should start without restoring when the snapshot is corrupt")
+  @Test
+  void shouldSkipCorruptSnapshot() throws IOException {
+    Files.writeString(path, "not a snapshot");
+
+    runner.run(args);
+
+    verify(swopProvider, never()).restore(any());
+    assertThat(path).exists();
+  }
+}
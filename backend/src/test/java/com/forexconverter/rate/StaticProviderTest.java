@@ -0,0 +1,90 @@
+package com.forexconverter.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("unit")
+class StaticProviderTest {
+
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency GBP = Currency.getInstance("GBP");
+
+  @TempDir private Path directory;
+
+  @DisplayName("Should load dated and undated rates from a CSV file")
+  @Test
+  void shouldLoadFile() throws IOException {
+    Path file = directory.resolve("rates.csv");
+    Files.writeString(
+        file,
+        """
+        # from,to,rate,date
+        USD,EUR,0.925,2026-02-15
+
+        EUR,GBP,0.85
+        """);
+
+    StaticProvider provider = StaticProvider.load(file);
+
+    assertThat(provider.size()).isEqualTo(2);
+    assertThat(provider.getQuote(USD, EUR).rate()).isEqualTo(new BigDecimal("0.925"));
+    assertThat(provider.getQuote(USD, EUR).date()).isEqualTo(LocalDate.of(2026, 2, 15));
+    assertThat(provider.getQuote(EUR, GBP).date()).isNull();
+  }
+
+  @DisplayName("Should reject a malformed line with its line number")
+  @Test
+  void shouldRejectMalformedLine() throws IOException {
+    Path file = directory.resolve("rates.csv");
+    Files.writeString(file, "USD,EUR,0.925\nUSD,GBP\n");
+
+    assertThatThrownBy(() -> StaticProvider.load(file))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageEndingWith(":2: expected FROM,TO,RATE[,DATE]");
+  }
+
+  @DisplayName("Should serve rates keyed by pair")
+  @Test
+  void shouldServeConfiguredRates() {
+    StaticProvider provider = StaticProvider.of(Map.of("USD-EUR", new BigDecimal("0.925")));
+
+    assertThat(provider.getRate(USD, EUR)).isEqualTo(new BigDecimal("0.925"));
+  }
+
+  @DisplayName("Should throw for a pair it does not hold")
+  @Test
+  void shouldThrowWhenNotFound() {
+    StaticProvider provider = StaticProvider.of(Map.of("USD-EUR", new BigDecimal("0.925")));
+
+    assertThatThrownBy(() -> provider.getRate(EUR, USD))
+        .isInstanceOf(ProviderRateNotFoundException.class);
+  }
+
+  @DisplayName("Should return a not-found result without throwing for a pair it does not hold")
+  @Test
+  void shouldReturnNotFoundResult() {
+    StaticProvider provider = StaticProvider.of(Map.of("USD-EUR", new BigDecimal("0.925")));
+
+    assertThat(provider.lookup(USD, EUR)).isInstanceOf(Quote.class);
+    assertThat(provider.lookup(EUR, USD))
+        .isInstanceOfSatisfying(
+            RateFailure.class,
+            failure -> {
+              assertThat(failure.reason()).isEqualTo(RateFailure.Reason.NOT_FOUND);
+              assertThat(failure.thrown()).isNull();
+            });
+  }
+}
@@ -3,15 +3,22 @@ package com.forexconverter.rate;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.forexconverter.swop.Client;
+import com.forexconverter.swop.ClientProperties;
 import com.forexconverter.swop.RateResponseDTO;
+import com.forexconverter.swop.RequestBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Currency;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,8 +29,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
@@ -35,18 +40,63 @@ import org.springframework.web.client.ResourceAccessException;
 @ExtendWith(MockitoExtension.class)
 class SwopProviderTest {
 
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency GBP = Currency.getInstance("GBP");
+  private static final Currency JPY = Currency.getInstance("JPY");
+
   @Mock private Client client;
-  @Mock private CacheManager cacheManager;
-  @Mock private Cache cache;
 
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-02-15T10:00:00Z"));
+  private final List<Runnable> refreshes = new ArrayList<>();
+  private final List<Object> events = new ArrayList<>();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ClientProperties clientProperties = new ClientProperties();
+  private RateStore store;
   private SwopProvider provider;
   private LocalDate today;
 
   @BeforeEach
   void setUp() {
-    when(cacheManager.getCache("exchangeRates")).thenReturn(cache);
-    provider = new SwopProvider(client, cacheManager);
-    today = LocalDate.now();
+    TriangulationProperties triangulation = new TriangulationProperties();
+    triangulation.setEnabled(false);
+    store = new MatrixRateStore();
+    provider = provider(triangulation);
+    today = LocalDate.now(clock);
+  }
+
+  private SwopProvider provider(TriangulationProperties triangulation) {
+    CacheProperties cacheProperties = new CacheProperties();
+    cacheProperties.setSoftTtl(Duration.ofHours(1));
+    cacheProperties.setHardTtl(Duration.ofHours(2));
+    return new SwopProvider(
+        client,
+        new RequestBudget(clientProperties, clock, meterRegistry),
+        new CircuitBreaker(
+            "swop",
+            new CircuitBreakerProperties(),
+            clock,
+            e -> !(e instanceof HttpClientErrorException),
+            meterRegistry),
+        store,
+        new CrossRateCalculator(triangulation),
+        cacheProperties,
+        refreshes::add,
+        clock,
+        meterRegistry,
+        events::add);
+  }
+
+  private void cache(Currency from, Currency to, String rate) {
+    store.put(new Quote(new CurrencyPair(from, to), new BigDecimal(rate), today, clock.millis()));
+  }
+
+  private double refreshedPairs(String change) {
+    return meterRegistry.get("rate.refresh.pairs").tag("change", change).counter().count();
+  }
+
+  private long lookups(String result) {
+    return meterRegistry.get("provider.rate.lookup").tag("result", result).timer().count();
   }
 
   @Nested
@@ -56,18 +106,13 @@ class SwopProviderTest {
     @Test
     @DisplayName("Should return rate on successful response")
     void shouldReturnRate() {
-      Currency from = Currency.getInstance("USD");
-      Currency to = Currency.getInstance("EUR");
-
       BigDecimal rateValue = new BigDecimal("1.079301");
-      String todayKey = today + ":USD:EUR";
 
-      when(cache.get(todayKey, BigDecimal.class)).thenReturn(null);
       when(client.fetchRate("USD", "EUR"))
           .thenReturn(
               ResponseEntity.ok(new RateResponseDTO("USD", "EUR", rateValue, "2026-02-15")));
 
-      BigDecimal result = provider.getRate(from, to);
+      BigDecimal result = provider.getRate(USD, EUR);
 
       assertThat(result).isEqualTo(rateValue);
     }
@@ -75,130 +120,137 @@ class SwopProviderTest {
     @Test
     @DisplayName("Should return cached rate when available")
     void shouldReturnCachedRate() {
-      Currency from = Currency.getInstance("USD");
-      Currency to = Currency.getInstance("EUR");
-
-      BigDecimal cachedRate = new BigDecimal("1.08");
-      String todayKey = today + ":USD:EUR";
-
-      when(cache.get(todayKey, BigDecimal.class)).thenReturn(cachedRate);
+      cache(USD, EUR, "1.08");
 
-      BigDecimal result = provider.getRate(from, to);
+      BigDecimal result = provider.getRate(USD, EUR);
 
-      assertThat(result).isEqualTo(cachedRate);
+      assertThat(result).isEqualTo(new BigDecimal("1.08"));
       verify(client, never()).fetchRate("USD", "EUR");
+      assertThat(lookups("hit")).isEqualTo(1);
+      assertThat(lookups("miss")).isZero();
     }
 
     @Test
     @DisplayName("Should call swop API and cache result when cache miss")
     void shouldCallApiOnCacheMiss() {
-      Currency from = Currency.getInstance("USD");
-      Currency to = Currency.getInstance("EUR");
-
       BigDecimal rateValue = new BigDecimal("1.079301");
-      String todayKey = today + ":USD:EUR";
 
-      when(cache.get(todayKey, BigDecimal.class)).thenReturn(null);
       when(client.fetchRate("USD", "EUR"))
           .thenReturn(
               ResponseEntity.ok(new RateResponseDTO("USD", "EUR", rateValue, "2026-02-15")));
 
-      BigDecimal result = provider.getRate(from, to);
+      BigDecimal result = provider.getRate(USD, EUR);
 
       assertThat(result).isEqualTo(rateValue);
       verify(client, times(1)).fetchRate("USD", "EUR");
-      verify(cache).put(todayKey, rateValue);
+      assertThat(lookups("miss")).isEqualTo(1);
+      assertThat(store.get(USD, EUR))
+          .isEqualTo(
+              new Quote(
+                  new CurrencyPair(USD, EUR),
+                  rateValue,
+                  LocalDate.parse("2026-02-15"),
+                  clock.millis()));
+      assertThat(events)
+          .containsExactly(
+              new RatesChangedEvent(List.of(store.get(USD, EUR)), List.of(), List.of()));
     }
 
     @Test
     @DisplayName("Should throw ProviderRateNotFoundException when rate not found")
     void shouldThrowWhenNotFound() {
-      Currency from = Currency.getInstance("USD");
-      Currency to = Currency.getInstance("EUR");
-      String todayKey = today + ":USD:EUR";
-
-      when(cache.get(todayKey, BigDecimal.class)).thenReturn(null);
       when(client.fetchRate("USD", "EUR"))
           .thenThrow(
               HttpClientErrorException.NotFound.create(
                   HttpStatus.NOT_FOUND, "Not Found", null, null, null));
 
-      assertThatThrownBy(() -> provider.getRate(from, to))
+      assertThatThrownBy(() -> provider.getRate(USD, EUR))
           .isInstanceOf(ProviderRateNotFoundException.class);
     }
 
+    @Test
+    @DisplayName("Should return failures from lookup() and throw them without a stack trace")
+    void shouldReturnFailureFromLookup() {
+      when(client.fetchRate("USD", "EUR"))
+          .thenThrow(
+              HttpClientErrorException.NotFound.create(
+                  HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+      assertThat(provider.lookup(USD, EUR))
+          .isInstanceOfSatisfying(
+              RateFailure.class,
+              failure -> {
+                assertThat(failure.reason()).isEqualTo(RateFailure.Reason.NOT_FOUND);
+                assertThat(failure.message()).isEqualTo("Rate not found");
+              });
+      assertThatThrownBy(() -> provider.getRate(USD, EUR))
+          .isInstanceOf(ProviderRateNotFoundException.class)
+          .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
     @Test
     @DisplayName("Should throw ProviderException for client errors")
     void shouldThrowForClientError() {
-      Currency from = Currency.getInstance("USD");
-      Currency to = Currency.getInstance("EUR");
-      String todayKey = today + ":USD:EUR";
-
-      when(cache.get(todayKey, BigDecimal.class)).thenReturn(null);
       when(client.fetchRate("USD", "EUR"))
           .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Bad Request"));
 
-      assertThatThrownBy(() -> provider.getRate(from, to)).isInstanceOf(ProviderException.class);
+      assertThatThrownBy(() -> provider.getRate(USD, EUR)).isInstanceOf(ProviderException.class);
     }
 
     @Test
     @DisplayName("Should throw ProviderException for server errors")
     void shouldThrowForServerError() {
-      Currency from = Currency.getInstance("USD");
-      Currency to = Currency.getInstance("EUR");
-      String todayKey = today + ":USD:EUR";
-
-      when(cache.get(todayKey, BigDecimal.class)).thenReturn(null);
       when(client.fetchRate("USD", "EUR"))
           .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
 
-      assertThatThrownBy(() -> provider.getRate(from, to)).isInstanceOf(ProviderException.class);
+      assertThatThrownBy(() -> provider.getRate(USD, EUR)).isInstanceOf(ProviderException.class);
     }
 
     @Test
     @DisplayName("Should throw ProviderException when connection fails")
     void shouldThrowWhenConnectionFails() {
-      Currency from = Currency.getInstance("USD");
-      Currency to = Currency.getInstance("EUR");
-      String todayKey = today + ":USD:EUR";
-
-      when(cache.get(todayKey, BigDecimal.class)).thenReturn(null);
       when(client.fetchRate("USD", "EUR"))
           .thenThrow(new ResourceAccessException("Connection refused"));
 
-      assertThatThrownBy(() -> provider.getRate(from, to)).isInstanceOf(ProviderException.class);
+      assertThatThrownBy(() -> provider.getRate(USD, EUR)).isInstanceOf(ProviderException.class);
     }
 
     @Test
     @DisplayName("Should throw ProviderException when response parsing fails")
     void shouldThrowWhenParseFails() {
-      Currency from = Currency.getInstance("USD");
-      Currency to = Currency.getInstance("EUR");
-      String todayKey = today + ":USD:EUR";
-
-      when(cache.get(todayKey, BigDecimal.class)).thenReturn(null);
       when(client.fetchRate("USD", "EUR"))
           .thenThrow(new HttpMessageConversionException("Invalid JSON"));
 
-      assertThatThrownBy(() -> provider.getRate(from, to)).isInstanceOf(ProviderException.class);
+      assertThatThrownBy(() -> provider.getRate(USD, EUR)).isInstanceOf(ProviderException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail fast with ProviderException once the circuit breaker is open")
+    void shouldFailFastWhenCircuitOpen() {
+      when(client.fetchRate("USD", "EUR"))
+          .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+      for (int i = 0; i < new CircuitBreakerProperties().minimumCalls(); i++) {
+        assertThatThrownBy(() -> provider.getRate(USD, EUR)).isInstanceOf(ProviderException.class);
+      }
+
+      assertThatThrownBy(() -> provider.getRate(USD, EUR))
+          .isInstanceOf(ProviderException.class)
+          .hasCauseInstanceOf(CircuitBreakerException.class);
+      verify(client, times(new CircuitBreakerProperties().minimumCalls())).fetchRate("USD", "EUR");
     }
 
     @Test
     @DisplayName("Should throw ProviderException for unexpected errors")
     void shouldThrowForUnexpectedError() {
-      Currency from = Currency.getInstance("USD");
-      Currency to = Currency.getInstance("EUR");
-      String todayKey = today + ":USD:EUR";
-
-      when(cache.get(todayKey, BigDecimal.class)).thenReturn(null);
       when(client.fetchRate("USD", "EUR")).thenThrow(new RuntimeException("Unexpected"));
 
-      assertThatThrownBy(() -> provider.getRate(from, to)).isInstanceOf(ProviderException.class);
+      assertThatThrownBy(() -> provider.getRate(USD, EUR)).isInstanceOf(ProviderException.class);
     }
 
     @Test
-    @DisplayName("Should use same cache key format as getRate() for warmup")
-    void shouldUseSameCacheKeyFormat() {
+    @DisplayName("Should serve the same entries for getRate() that warmup loads")
+    void shouldServeWarmedUpRates() {
       List<RateResponseDTO> rates =
           List.of(new RateResponseDTO("EUR", "USD", new BigDecimal("1.079301"), today.toString()));
 
@@ -206,8 +258,107 @@ class SwopProviderTest {
 
       provider.warmupCache();
 
-      String expectedKey = today + ":EUR:USD";
-      verify(cache).put(expectedKey, new BigDecimal("1.079301"));
+      assertThat(provider.getRate(EUR, USD)).isEqualTo(new BigDecimal("1.079301"));
+      verify(client, never()).fetchRate(anyString(), anyString());
+    }
+  }
+
+  @Nested
+  @DisplayName("expiry")
+  class ExpiryTests {
+
+    @Test
+    @DisplayName("Should serve a rate past its soft TTL and reload it in the background")
+    void shouldServeStaleRateWhileRevalidating() {
+      cache(USD, EUR, "1.08");
+      clock.advance(Duration.ofMinutes(90));
+
+      when(client.fetchRate("USD", "EUR"))
+          .thenReturn(
+              ResponseEntity.ok(
+                  new RateResponseDTO("USD", "EUR", new BigDecimal("1.09"), "2026-02-15")));
+
+      assertThat(provider.getRate(USD, EUR)).isEqualTo(new BigDecimal("1.08"));
+      verify(client, never()).fetchRate("USD", "EUR");
+
+      assertThat(refreshes).hasSize(1);
+      refreshes.getFirst().run();
+
+      assertThat(provider.getRate(USD, EUR)).isEqualTo(new BigDecimal("1.09"));
+      verify(client, times(1)).fetchRate("USD", "EUR");
+    }
+
+    @Test
+    @DisplayName("Should start a single background reload per pair")
+    void shouldDeduplicateBackgroundReloads() {
+      cache(USD, EUR, "1.08");
+      clock.advance(Duration.ofMinutes(90));
+
+      provider.getRate(USD, EUR);
+      provider.getRate(USD, EUR);
+
+      assertThat(refreshes).hasSize(1);
+      assertThat(lookups("stale")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep serving the stale rate when the background reload fails")
+    void shouldKeepStaleRateWhenReloadFails() {
+      cache(USD, EUR, "1.08");
+      clock.advance(Duration.ofMinutes(90));
+
+      when(client.fetchRate("USD", "EUR"))
+          .thenThrow(new ResourceAccessException("Connection refused"));
+
+      provider.getRate(USD, EUR);
+      assertThatCode(() -> refreshes.getFirst().run()).doesNotThrowAnyException();
+
+      assertThat(provider.getRate(USD, EUR)).isEqualTo(new BigDecimal("1.08"));
+    }
+
+    @Test
+    @DisplayName("Should refuse a rate past its hard TTL and reload it on the request thread")
+    void shouldReloadRatePastHardTtl() {
+      cache(USD, EUR, "1.08");
+      clock.advance(Duration.ofHours(3));
+
+      when(client.fetchRate("USD", "EUR"))
+          .thenReturn(
+              ResponseEntity.ok(
+                  new RateResponseDTO("USD", "EUR", new BigDecimal("1.09"), "2026-02-15")));
+
+      assertThat(provider.getRate(USD, EUR)).isEqualTo(new BigDecimal("1.09"));
+      assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve the last known rate as stale when reloading it fails")
+    void shouldServeLastKnownGoodRate() {
+      cache(USD, EUR, "1.08");
+      clock.advance(Duration.ofDays(3));
+
+      when(client.fetchRate("USD", "EUR"))
+          .thenThrow(new ResourceAccessException("Connection refused"));
+
+      Quote quote = provider.getQuote(USD, EUR);
+
+      assertThat(quote.rate()).isEqualTo(new BigDecimal("1.08"));
+      assertThat(quote.stale()).isTrue();
+      assertThat(quote.date()).isEqualTo(today);
+      assertThat(meterRegistry.get("provider.rate.stale").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail when the last known rate is older than the fallback max age")
+    void shouldFailPastFallbackMaxAge() {
+      cache(USD, EUR, "1.08");
+      clock.advance(Duration.ofDays(8));
+
+      when(client.fetchRate("USD", "EUR"))
+          .thenThrow(new ResourceAccessException("Connection refused"));
+
+      assertThatThrownBy(() -> provider.getRate(USD, EUR)).isInstanceOf(ProviderException.class);
+      assertThat(meterRegistry.get("provider.rate.stale").counter().count()).isZero();
     }
   }
 
@@ -228,8 +379,25 @@ class SwopProviderTest {
       provider.warmupCache();
 
       verify(client).fetchAllRates();
-      verify(cache).put(today + ":EUR:USD", new BigDecimal("1.079301"));
-      verify(cache).put(today + ":EUR:GBP", new BigDecimal("0.852341"));
+      assertThat(store.get(EUR, USD).rate()).isEqualTo(new BigDecimal("1.079301"));
+      assertThat(store.get(EUR, GBP).rate()).isEqualTo(new BigDecimal("0.852341"));
+      assertThat(store.get(EUR, GBP).fetchedAt()).isEqualTo(clock.millis());
+    }
+
+    @Test
+    @DisplayName("Should publish the loaded rates after a successful warmup")
+    void shouldPublishRatesRefreshedEvent() {
+      List<RateResponseDTO> rates =
+          List.of(new RateResponseDTO("EUR", "USD", new BigDecimal("1.079301"), today.toString()));
+
+      when(client.fetchAllRates()).thenReturn(ResponseEntity.ok(rates));
+
+      provider.warmupCache();
+
+      assertThat(events)
+          .containsExactly(
+              new RatesChangedEvent(List.of(store.get(EUR, USD)), List.of(), List.of()),
+              new RatesRefreshedEvent(List.of(store.get(EUR, USD)), 1));
     }
 
     @Test
@@ -240,6 +408,327 @@ class SwopProviderTest {
       assertThatCode(() -> provider.warmupCache()).doesNotThrowAnyException();
 
       verify(client).fetchAllRates();
+      assertThat(events).singleElement().isInstanceOf(RatesRefreshFailedEvent.class);
+    }
+
+    @Test
+    @DisplayName("Should publish only the added and changed rates of a refresh")
+    void shouldPublishOnlyChangedRates() {
+      cache(EUR, USD, "1.079301");
+      cache(EUR, GBP, "0.85");
+      clock.advance(Duration.ofMinutes(5));
+      List<RateResponseDTO> rates =
+          List.of(
+              new RateResponseDTO("EUR", "USD", new BigDecimal("1.0793010"), today.toString()),
+              new RateResponseDTO("EUR", "GBP", new BigDecimal("0.852341"), today.toString()),
+              new RateResponseDTO("EUR", "JPY", new BigDecimal("161.52"), today.toString()));
+
+      when(client.fetchAllRates()).thenReturn(ResponseEntity.ok(rates));
+
+      provider.warmupCache();
+
+      assertThat(events)
+          .first()
+          .isEqualTo(
+              new RatesChangedEvent(
+                  List.of(store.get(EUR, JPY)), List.of(store.get(EUR, GBP)), List.of()));
+      assertThat(store.get(EUR, USD).fetchedAt()).isEqualTo(clock.millis());
+      assertThat(refreshedPairs("added")).isEqualTo(1);
+      assertThat(refreshedPairs("changed")).isEqualTo(1);
+      assertThat(refreshedPairs("unchanged")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not publish a change when a refresh loads the same rates")
+    void shouldNotPublishUnchangedRefresh() {
+      List<RateResponseDTO> rates =
+          List.of(new RateResponseDTO("EUR", "USD", new BigDecimal("1.079301"), today.toString()));
+      when(client.fetchAllRates()).thenReturn(ResponseEntity.ok(rates));
+      provider.warmupCache();
+      events.clear();
+
+      provider.warmupCache();
+
+      assertThat(events).singleElement().isInstanceOf(RatesRefreshedEvent.class);
+    }
+
+    @Test
+    @DisplayName("Should remove the pairs missing from a refresh")
+    void shouldRemoveMissingPairs() {
+      when(client.fetchAllRates())
+          .thenReturn(
+              ResponseEntity.ok(
+                  List.of(
+                      new RateResponseDTO(
+                          "EUR", "USD", new BigDecimal("1.079301"), today.toString()),
+                      new RateResponseDTO(
+                          "EUR", "GBP", new BigDecimal("0.852341"), today.toString()))))
+          .thenReturn(
+              ResponseEntity.ok(
+                  List.of(
+                      new RateResponseDTO(
+                          "EUR", "USD", new BigDecimal("1.079301"), today.toString()))));
+      provider.warmupCache();
+      cache(USD, JPY, "149.7");
+      events.clear();
+
+      provider.warmupCache();
+
+      assertThat(store.get(EUR, GBP)).isNull();
+      assertThat(store.get(USD, JPY)).isNotNull();
+      assertThat(events)
+          .first()
+          .isEqualTo(
+              new RatesChangedEvent(List.of(), List.of(), List.of(new CurrencyPair(EUR, GBP))));
+      assertThat(refreshedPairs("removed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the stored rates when the provider returns none")
+    void shouldKeepRatesOnEmptyRefresh() {
+      cache(EUR, USD, "1.079301");
+      when(client.fetchAllRates()).thenReturn(ResponseEntity.ok(List.of()));
+
+      provider.warmupCache();
+
+      assertThat(store.get(EUR, USD)).isNotNull();
+      assertThat(events).singleElement().isInstanceOf(RatesRefreshFailedEvent.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("restore()")
+  class RestoreTests {
+
+    @Test
+    @DisplayName("Should serve restored rates until they expire")
+    void shouldServeRestoredRates() {
+      Quote quote =
+          new Quote(new CurrencyPair(EUR, USD), new BigDecimal("1.079301"), today, clock.millis());
+
+      provider.restore(List.of(quote));
+
+      assertThat(provider.getRate(EUR, USD)).isEqualTo(new BigDecimal("1.079301"));
+      assertThat(events).containsExactly(new RatesRestoredEvent(List.of(quote), 1, 1));
+      verify(client, never()).fetchRate(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should keep the fetch time of restored rates")
+    void shouldExpireRestoredRates() {
+      Quote quote =
+          new Quote(
+              new CurrencyPair(EUR, USD),
+              new BigDecimal("1.079301"),
+              today,
+              clock.millis() - Duration.ofHours(3).toMillis());
+
+      when(client.fetchRate("EUR", "USD"))
+          .thenReturn(
+              ResponseEntity.ok(
+                  new RateResponseDTO("EUR", "USD", new BigDecimal("1.08"), "2026-02-15")));
+
+      provider.restore(List.of(quote));
+
+      assertThat(events).containsExactly(new RatesRestoredEvent(List.of(quote), 1, 0));
+      assertThat(provider.getRate(EUR, USD)).isEqualTo(new BigDecimal("1.08"));
+    }
+
+    @Test
+    @DisplayName("Should drop restored rates older than the fallback max age")
+    void shouldDropRatesTooOldToServe() {
+      Quote quote =
+          new Quote(
+              new CurrencyPair(EUR, USD),
+              new BigDecimal("1.079301"),
+              today,
+              clock.millis() - Duration.ofDays(8).toMillis());
+
+      assertThat(provider.restore(List.of(quote))).isZero();
+
+      assertThat(store.get(EUR, USD)).isNull();
+      assertThat(events).isEmpty();
+    }
+  }
+
+  @Nested
+  @DisplayName("triangulation")
+  class TriangulationTests {
+
+    private SwopProvider triangulatingProvider;
+
+    @BeforeEach
+    void setUp() {
+      triangulatingProvider = provider(new TriangulationProperties());
+    }
+
+    @Test
+    @DisplayName("Should serve cross-rates derived from warmed up base quotes")
+    void shouldServeCrossRatesWithoutUpstreamCall() {
+      List<RateResponseDTO> rates =
+          List.of(
+              new RateResponseDTO("EUR", "USD", new BigDecimal("1.25"), today.toString()),
+              new RateResponseDTO("EUR", "JPY", new BigDecimal("150"), today.toString()));
+
+      when(client.fetchAllRates()).thenReturn(ResponseEntity.ok(rates));
+
+      triangulatingProvider.warmupCache();
+
+      assertThat(triangulatingProvider.getRate(USD, JPY)).isEqualByComparingTo("120");
+      assertThat(triangulatingProvider.getRate(USD, EUR)).isEqualByComparingTo("0.8");
+      verify(client, never()).fetchRate(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should derive a missing cross-rate from cached base quotes")
+    void shouldDeriveOnDemand() {
+      cache(EUR, USD, "1.25");
+      cache(EUR, GBP, "0.85");
+
+      assertThat(triangulatingProvider.getRate(USD, GBP)).isEqualByComparingTo("0.68");
+      verify(client, never()).fetchRate(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should fetch from upstream when a base quote is missing")
+    void shouldFetchWhenPairCannotBeDerived() {
+      when(client.fetchRate("USD", "JPY"))
+          .thenReturn(
+              ResponseEntity.ok(
+                  new RateResponseDTO("USD", "JPY", new BigDecimal("120"), "2026-02-15")));
+
+      BigDecimal result = triangulatingProvider.getRate(USD, JPY);
+
+      assertThat(result).isEqualByComparingTo("120");
+      verify(client).fetchRate("USD", "JPY");
+    }
+  }
+
+  @Nested
+  @DisplayName("negative caching")
+  class NegativeCacheTests {
+
+    private HttpClientErrorException notFound() {
+      return HttpClientErrorException.NotFound.create(
+          HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+    }
+
+    @Test
+    @DisplayName("Should answer a pair the provider did not find locally until the negative TTL")
+    void shouldCacheNotFound() {
+      when(client.fetchRate("USD", "EUR")).thenThrow(notFound());
+
+      assertThat(provider.lookup(USD, EUR)).isInstanceOf(RateFailure.class);
+      assertThatThrownBy(() -> provider.getRate(USD, EUR))
+          .isInstanceOf(ProviderRateNotFoundException.class)
+          .hasMessage("Rate not found");
+      verify(client, times(1)).fetchRate("USD", "EUR");
+      assertThat(lookups("rejected")).isEqualTo(1);
+
+      clock.advance(new CacheProperties().negative().ttl());
+
+      provider.lookup(USD, EUR);
+      verify(client, times(2)).fetchRate("USD", "EUR");
+    }
+
+    @Test
+    @DisplayName("Should answer a pair the provider rejected as invalid locally")
+    void shouldCacheInvalidPair() {
+      when(client.fetchRate("USD", "EUR"))
+          .thenThrow(
+              HttpClientErrorException.create(
+                  HttpStatus.BAD_REQUEST, "Bad Request", null, null, null));
+
+      provider.lookup(USD, EUR);
+
+      assertThat(provider.lookup(USD, EUR))
+          .isEqualTo(RateFailure.unavailable("Failed to fetch rate from provider"));
+      verify(client, times(1)).fetchRate("USD", "EUR");
+    }
+
+    @Test
+    @DisplayName("Should not cache failures of the provider itself")
+    void shouldNotCacheServerErrors() {
+      when(client.fetchRate("USD", "EUR"))
+          .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+      provider.lookup(USD, EUR);
+      provider.lookup(USD, EUR);
+
+      verify(client, times(2)).fetchRate("USD", "EUR");
+    }
+
+    @Test
+    @DisplayName("Should reject pairs of currencies missing from the last bulk load locally")
+    void shouldRejectUnquotedCurrencies() {
+      List<RateResponseDTO> rates =
+          List.of(
+              new RateResponseDTO("EUR", "USD", new BigDecimal("1.079301"), today.toString()),
+              new RateResponseDTO("EUR", "GBP", new BigDecimal("0.852341"), today.toString()));
+      when(client.fetchAllRates()).thenReturn(ResponseEntity.ok(rates));
+      provider.warmupCache();
+
+      assertThat(provider.lookup(USD, JPY)).isEqualTo(RateFailure.notFound("Rate not found"));
+      assertThat(provider.lookup(JPY, GBP)).isEqualTo(RateFailure.notFound("Rate not found"));
+      verify(client, never()).fetchRate(anyString(), anyString());
+      assertThat(lookups("rejected")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should ask for rejected pairs again after a bulk load")
+    void shouldForgetRejectedPairsOnBulkLoad() {
+      when(client.fetchRate("USD", "EUR")).thenThrow(notFound());
+      provider.lookup(USD, EUR);
+      List<RateResponseDTO> rates =
+          List.of(new RateResponseDTO("EUR", "USD", new BigDecimal("1.079301"), today.toString()));
+      when(client.fetchAllRates()).thenReturn(ResponseEntity.ok(rates));
+      provider.warmupCache();
+
+      provider.lookup(USD, EUR);
+
+      verify(client, times(2)).fetchRate("USD", "EUR");
+    }
+  }
+
+  @Nested
+  @DisplayName("request budget")
+  class BudgetTests {
+
+    @BeforeEach
+    void setUp() {
+      clientProperties.budget().setPerDay(1);
+      clientProperties.budget().setPolicy(ClientProperties.BudgetPolicy.SHED);
+      TriangulationProperties triangulation = new TriangulationProperties();
+      triangulation.setEnabled(false);
+      provider = provider(triangulation);
+
+      List<RateResponseDTO> rates =
+          List.of(new RateResponseDTO("EUR", "USD", new BigDecimal("1.079301"), today.toString()));
+      when(client.fetchAllRates()).thenReturn(ResponseEntity.ok(rates));
+      provider.warmupCache();
+      clock.advance(Duration.ofHours(3));
+    }
+
+    @Test
+    @DisplayName("Should serve the last known rate without a request once the budget is exhausted")
+    void shouldServeStaleRateWhenBudgetExhausted() {
+      Quote quote = provider.getQuote(EUR, USD);
+
+      assertThat(quote.rate()).isEqualTo(new BigDecimal("1.079301"));
+      assertThat(quote.stale()).isTrue();
+      verify(client, never()).fetchRate(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should fail without a request once the budget is exhausted and nothing is cached")
+    void shouldFailWhenBudgetExhausted() {
+      assertThat(provider.lookup(USD, EUR))
+          .isInstanceOfSatisfying(
+              RateFailure.class,
+              failure ->
+                  assertThat(failure.message())
+                      .isEqualTo("Rate provider request budget exhausted"));
+      verify(client, never()).fetchRate(anyString(), anyString());
     }
   }
 }
@@ -0,0 +1,187 @@
+package com.forexconverter.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.forexconverter.rate.CurrencyPair;
+import com.forexconverter.rate.Quote;
+import com.forexconverter.rate.RateFailure;
+import com.forexconverter.rate.RatesChangedEvent;
+import com.forexconverter.rate.SwopProvider;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "forex.stream.max-pairs=2")
+@AutoConfigureMockMvc
+@Tag("unit")
+class RateStreamControllerTest {
+
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency GBP = Currency.getInstance("GBP");
+  private static final LocalDate DATE = LocalDate.of(2026, 2, 15);
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ApplicationEventPublisher events;
+
+  @MockitoBean private SwopProvider swopProvider;
+
+  private static Quote quote(Currency from, Currency to, String rate) {
+    return new Quote(new CurrencyPair(from, to), new BigDecimal(rate), DATE, 0);
+  }
+
+  private static void awaitContent(MockHttpServletResponse response, String expected) {
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .until(() -> response.getContentAsString().contains(expected));
+  }
+
+  @DisplayName("RateStream should send the current rate followed by every change")
+  @Test
+  void shouldStreamRateChanges() throws Exception {
+    when(swopProvider.lookup(USD, EUR)).thenReturn(quote(USD, EUR, "0.925"));
+    MockHttpServletResponse response =
+        mockMvc
+            .perform(get("/convert/stream").param("pairs", "usd-eur"))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+    awaitContent(response, "\"rate\":0.925");
+
+    events.publishEvent(
+        new RatesChangedEvent(List.of(), List.of(quote(USD, EUR, "0.9250")), List.of()));
+    events.publishEvent(
+        new RatesChangedEvent(List.of(), List.of(quote(EUR, GBP, "0.85")), List.of()));
+    events.publishEvent(
+        new RatesChangedEvent(List.of(), List.of(quote(USD, EUR, "0.93")), List.of()));
+    awaitContent(response, "\"rate\":0.93");
+
+    assertThat(response.getContentType()).startsWith("text/event-stream");
+    assertThat(response.getContentAsString())
+        .isEqualTo(
+            """
+            event:rate
+            data:{"from":"USD","to":"EUR","rate":0.925,"date":"2026-02-15"}
+
+            event:rate
+            data:{"from":"USD","to":"EUR","rate":0.93,"date":"2026-02-15"}
+
+            """);
+  }
+
+  @DisplayName("RateStream should send a rate once it is stored if there is none yet")
+  @Test
+  void shouldStreamRateStoredAfterSubscribing() throws Exception {
+    when(swopProvider.lookup(GBP, USD)).thenReturn(RateFailure.notFound("Rate not found"));
+    MockHttpServletResponse response =
+        mockMvc
+            .perform(get("/convert/stream").param("pairs", "GBP-USD"))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+
+    events.publishEvent(
+        new RatesChangedEvent(List.of(), List.of(quote(GBP, USD, "1.25")), List.of()));
+
+    awaitContent(response, "\"rate\":1.25");
+  }
+
+  @DisplayName("RateStream should not send a rate looked up on subscribing after a newer change")
+  @Test
+  void shouldNotOverwriteChangeWithCurrentRate() throws Exception {
+    when(swopProvider.lookup(GBP, EUR))
+        .thenAnswer(
+            invocation -> {
+              // The rate changes while the current one is being looked up.
+              events.publishEvent(
+                  new RatesChangedEvent(List.of(), List.of(quote(GBP, EUR, "1.18")), List.of()));
+              return quote(GBP, EUR, "1.17");
+            });
+    MockHttpServletResponse response =
+        mockMvc
+            .perform(get("/convert/stream").param("pairs", "GBP-EUR"))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+    awaitContent(response, "\"rate\":1.18");
+
+    await()
+        .during(Duration.ofMillis(200))
+        .atMost(Duration.ofSeconds(1))
+        .until(() -> !response.getContentAsString().contains("1.17"));
+  }
+
+  @DisplayName("RateStream should send a removal for a pair that is no longer quoted")
+  @Test
+  void shouldStreamRemovedPairs() throws Exception {
+    when(swopProvider.lookup(EUR, GBP)).thenReturn(quote(EUR, GBP, "0.85"));
+    MockHttpServletResponse response =
+        mockMvc
+            .perform(get("/convert/stream").param("pairs", "EUR-GBP"))
+            .andExpect(request().asyncStarted())
+            .andReturn()
+            .getResponse();
+    awaitContent(response, "\"rate\":0.85");
+
+    events.publishEvent(
+        new RatesChangedEvent(List.of(), List.of(), List.of(new CurrencyPair(EUR, GBP))));
+    awaitContent(response, "event:removed");
+    events.publishEvent(
+        new RatesChangedEvent(List.of(), List.of(quote(EUR, GBP, "0.85")), List.of()));
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .until(() -> response.getContentAsString().split("\"rate\":0.85").length == 3);
+
+    assertThat(response.getContentAsString())
+        .isEqualTo(
+            """
+            event:rate
+            data:{"from":"EUR","to":"GBP","rate":0.85,"date":"2026-02-15"}
+
+            event:removed
+            data:{"from":"EUR","to":"GBP"}
+
+            event:rate
+            data:{"from":"EUR","to":"GBP","rate":0.85,"date":"2026-02-15"}
+
+            """);
+  }
+
+  @DisplayName("RateStream should return 400 for an invalid currency pair")
+  @Test
+  void shouldReturn400ForInvalidPair() throws Exception {
+    mockMvc
+        .perform(get("/convert/stream").param("pairs", "USDEUR"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error").value("Invalid currency pair: USDEUR"));
+  }
+
+  @DisplayName("RateStream should return 400 for too many currency pairs")
+  @Test
+  void shouldReturn400ForTooManyPairs() throws Exception {
+    mockMvc
+        .perform(get("/convert/stream").param("pairs", "USD-EUR,EUR-GBP,GBP-USD"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.error").value("A stream must subscribe to between 1 and 2 currency pairs"));
+  }
+}
@@ -10,7 +10,15 @@ import org.springframework.test.context.TestPropertySource;
 
 @SpringBootTest
 @TestPropertySource(
-    properties = {"swop.base-url=https://swop.cx", "swop.api-key=test-key", "swop.timeout=1000ms"})
+    properties = {
+      "swop.base-url=https://swop.cx",
+      "swop.api-key=test-key",
+      "swop.timeout=1000ms",
+      "swop.read-timeout=2s",
+      "swop.http-client=jdk",
+      "swop.max-connections=20",
+      "swop.idle-eviction=10s"
+    })
 class ClientPropertiesTest {
 
   @Autowired private ClientProperties properties;
@@ -29,4 +37,21 @@ class ClientPropertiesTest {
   void shouldBindTimeout() {
     assertThat(properties.timeout()).isEqualTo(Duration.ofMillis(1000));
   }
+
+  @Test
+  void shouldBindSeparateReadTimeout() {
+    assertThat(properties.readTimeout()).isEqualTo(Duration.ofSeconds(2));
+  }
+
+  @Test
+  void shouldFallBackToTimeoutForConnectTimeout() {
+    assertThat(properties.connectTimeout()).isEqualTo(Duration.ofMillis(1000));
+  }
+
+  @Test
+  void shouldBindPoolSettings() {
+    assertThat(properties.httpClient()).isEqualTo(ClientProperties.HttpClient.JDK);
+    assertThat(properties.maxConnections()).isEqualTo(20);
+    assertThat(properties.idleEviction()).isEqualTo(Duration.ofSeconds(10));
+  }
 }
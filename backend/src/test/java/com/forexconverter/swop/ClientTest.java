@@ -1,23 +1,33 @@
 package com.forexconverter.swop;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 class ClientTest {
 
   private MockWebServer mockServer;
   private ClientProperties properties;
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
   @BeforeEach
   void setUp() throws IOException {
@@ -35,8 +45,9 @@ class ClientTest {
     mockServer.shutdown();
   }
 
-  @Test
-  void shouldFetchRateFromSwop() throws InterruptedException {
+  @ParameterizedTest
+  @EnumSource(ClientProperties.HttpClient.class)
+  void shouldFetchRateFromSwop(ClientProperties.HttpClient httpClient) throws InterruptedException {
     mockServer.enqueue(
         new MockResponse()
             .setBody(
@@ -50,7 +61,7 @@ class ClientTest {
                 """)
             .addHeader("Content-Type", "application/json"));
 
-    Client client = new Client(properties);
+    Client client = client(httpClient);
     ResponseEntity<RateResponseDTO> response = client.fetchRate("EUR", "USD");
 
     assertThat(response.getBody().baseCurrency()).isEqualTo("EUR");
@@ -64,8 +75,10 @@ class ClientTest {
     assertThat(request.getHeader("Authorization")).isEqualTo("ApiKey test-key");
   }
 
-  @Test
-  void shouldFetchAllRatesFromSwop() throws InterruptedException {
+  @ParameterizedTest
+  @EnumSource(ClientProperties.HttpClient.class)
+  void shouldFetchAllRatesFromSwop(ClientProperties.HttpClient httpClient)
+      throws InterruptedException {
     mockServer.enqueue(
         new MockResponse()
             .setBody(
@@ -87,7 +100,7 @@ class ClientTest {
                 """)
             .addHeader("Content-Type", "application/json"));
 
-    Client client = new Client(properties);
+    Client client = client(httpClient);
     ResponseEntity<List<RateResponseDTO>> response = client.fetchAllRates();
 
     assertThat(response.getBody()).hasSize(2);
@@ -102,4 +115,110 @@ class ClientTest {
     assertThat(request.getPath()).isEqualTo("/rest/rates");
     assertThat(request.getHeader("Authorization")).isEqualTo("ApiKey test-key");
   }
+
+  @Test
+  void shouldReuseConnectionsAcrossRequests() throws InterruptedException {
+    for (int i = 0; i < 2; i++) {
+      mockServer.enqueue(
+          new MockResponse().setBody("[]").addHeader("Content-Type", "application/json"));
+    }
+
+    Client client = client(ClientProperties.HttpClient.APACHE);
+    client.fetchAllRates();
+    client.fetchAllRates();
+
+    mockServer.takeRequest();
+    assertThat(mockServer.takeRequest().getSequenceNumber()).isEqualTo(1);
+    assertThat(mockServer.getRequestCount()).isEqualTo(2);
+    assertThat(
+            meterRegistry
+                .get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", ClientConfig.POOL_NAME)
+                .tag("state", "available")
+                .gauge()
+                .value())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldExposePoolLimitAsMetric() {
+    properties.setMaxConnections(8);
+
+    client(ClientProperties.HttpClient.APACHE);
+
+    assertThat(
+            meterRegistry
+                .get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", ClientConfig.POOL_NAME)
+                .gauge()
+                .value())
+        .isEqualTo(8);
+  }
+
+  @Test
+  void shouldFailWithinConnectTimeoutWhenPoolIsExhausted() {
+    properties.setMaxConnections(1);
+    properties.setConnectTimeout(Duration.ofMillis(200));
+    properties.setReadTimeout(Duration.ofSeconds(5));
+    mockServer.enqueue(
+        new MockResponse()
+            .setBody("[]")
+            .addHeader("Content-Type", "application/json")
+            .setHeadersDelay(2, TimeUnit.SECONDS));
+
+    Client client = client(ClientProperties.HttpClient.APACHE);
+    Thread.ofVirtual().start(client::fetchAllRates);
+    await()
+        .atMost(Duration.ofSeconds(1))
+        .until(
+            () ->
+                meterRegistry
+                        .get("httpcomponents.httpclient.pool.total.connections")
+                        .tag("httpclient", ClientConfig.POOL_NAME)
+                        .tag("state", "leased")
+                        .gauge()
+                        .value()
+                    == 1);
+
+    long start = System.nanoTime();
+    assertThatThrownBy(client::fetchAllRates)
+        .isInstanceOf(ResourceAccessException.class)
+        .hasRootCauseInstanceOf(ConnectionRequestTimeoutException.class);
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void shouldTimeRequestsByOperationAndOutcome() {
+    mockServer.enqueue(
+        new MockResponse().setBody("[]").addHeader("Content-Type", "application/json"));
+    mockServer.enqueue(new MockResponse().setResponseCode(404));
+
+    Client client = client(ClientProperties.HttpClient.APACHE);
+    client.fetchAllRates();
+    assertThatThrownBy(() -> client.fetchRate("EUR", "XXX"))
+        .isInstanceOf(HttpClientErrorException.NotFound.class);
+
+    assertThat(
+            meterRegistry
+                .get("swop.requests")
+                .tags("operation", "fetchAllRates", "outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get("swop.requests")
+                .tags("operation", "fetchRate", "outcome", "client_error")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  private Client client(ClientProperties.HttpClient httpClient) {
+    properties.setHttpClient(httpClient);
+    return new Client(
+        properties,
+        new ClientConfig().swopRequestFactory(properties, meterRegistry),
+        meterRegistry);
+  }
 }
@@ -0,0 +1,121 @@
+package com.forexconverter.swop;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.forexconverter.rate.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class RequestBudgetTest {
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-02-15T10:00:00Z"));
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ClientProperties properties = new ClientProperties();
+
+  @BeforeEach
+  void setUp() {
+    properties.budget().setPerMinute(2);
+    properties.budget().setPerDay(3);
+    properties.budget().setPolicy(ClientProperties.BudgetPolicy.SHED);
+  }
+
+  private RequestBudget budget(Clock clock) {
+    return new RequestBudget(properties, clock, meterRegistry);
+  }
+
+  private double remaining(String window) {
+    return meterRegistry.get("swop.budget.remaining").tag("window", window).gauge().value();
+  }
+
+  @DisplayName("Should shed requests past the per-minute limit until the minute refills")
+  @Test
+  void shouldShedPastMinuteLimit() {
+    RequestBudget budget = budget(clock);
+
+    budget.acquire("fetchRate");
+    budget.acquire("fetchRate");
+
+    assertThatThrownBy(() -> budget.acquire("fetchRate"))
+        .isInstanceOf(BudgetExhaustedException.class)
+        .hasMessage("Swop request budget exhausted");
+    assertThat(
+            meterRegistry.get("swop.budget.shed").tag("operation", "fetchRate").counter().count())
+        .isEqualTo(1);
+    assertThat(remaining("minute")).isZero();
+
+    clock.advance(Duration.ofSeconds(30));
+
+    assertThatCode(() -> budget.acquire("fetchRate")).doesNotThrowAnyException();
+  }
+
+  @DisplayName("Should shed requests past the per-day limit even when the minute has refilled")
+  @Test
+  void shouldShedPastDayLimit() {
+    RequestBudget budget = budget(clock);
+    for (int i = 0; i < 3; i++) {
+      budget.acquire("fetchRate");
+      clock.advance(Duration.ofMinutes(1));
+    }
+
+    assertThat(remaining("minute")).isEqualTo(2);
+    assertThat(remaining("day")).isZero();
+    assertThatThrownBy(() -> budget.acquire("fetchAllRates"))
+        .isInstanceOf(BudgetExhaustedException.class);
+  }
+
+  @DisplayName("Should queue a request until the budget refills within the max wait")
+  @Test
+  void shouldQueueUntilRefilled() {
+    properties.budget().setPerMinute(600);
+    properties.budget().setPerDay(10000);
+    properties.budget().setPolicy(ClientProperties.BudgetPolicy.QUEUE);
+    properties.budget().setMaxWait(Duration.ofSeconds(1));
+    RequestBudget budget = budget(Clock.systemUTC());
+    for (int i = 0; i < 600; i++) {
+      budget.acquire("fetchRate");
+    }
+
+    long start = System.nanoTime();
+    budget.acquire("fetchRate");
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start))
+        .isBetween(Duration.ofMillis(50), Duration.ofSeconds(1));
+  }
+
+  @DisplayName("Should shed a queued request that cannot be served within the max wait")
+  @Test
+  void shouldShedWhenWaitTooLong() {
+    properties.budget().setPolicy(ClientProperties.BudgetPolicy.QUEUE);
+    properties.budget().setMaxWait(Duration.ofSeconds(1));
+    RequestBudget budget = budget(clock);
+    budget.acquire("fetchRate");
+    budget.acquire("fetchRate");
+
+    assertThatThrownBy(() -> budget.acquire("fetchRate"))
+        .isInstanceOf(BudgetExhaustedException.class);
+  }
+
+  @DisplayName("Should allow every request when disabled")
+  @Test
+  void shouldAllowEveryRequestWhenDisabled() {
+    properties.budget().setEnabled(false);
+    RequestBudget budget = budget(clock);
+
+    assertThatCode(
+            () -> {
+              for (int i = 0; i < 10; i++) {
+                budget.acquire("fetchRate");
+              }
+            })
+        .doesNotThrowAnyException();
+  }
+}